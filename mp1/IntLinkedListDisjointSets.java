@@ -0,0 +1,257 @@
+package it.unicam.cs.asdl2324.mp1;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Implementazione con liste concatenate di una collezione di insiemi
+ * disgiunti di interi non negativi, in cui le liste sono rappresentate da
+ * array di tipo primitivo indicizzati dall'elemento invece che da oggetti
+ * collegati da riferimenti.
+ *
+ * Per ogni elemento i: {@code rep[i]} è il rappresentante (-1 se l'elemento
+ * non è presente), {@code next[i]} è il prossimo elemento della lista (-1 se
+ * è l'ultimo). {@code tail[i]} e {@code size[i]} sono significativi solo se i
+ * è un rappresentante e contengono l'ultimo elemento della lista e la
+ * cardinalità dell'insieme. Tutte le ricerche sono letture di array, senza
+ * hashing.
+ *
+ * L'unione segue le stesse regole di {@code LinkedListDisjointSets}: il
+ * rappresentante è quello dell'insieme più grande, oppure quello dell'insieme
+ * di e1 in caso di parità; la lista più corta viene accodata alla più lunga
+ * e solo i suoi elementi vengono aggiornati, quindi n unioni costano in
+ * totale O(n log n).
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public class IntLinkedListDisjointSets {
+
+    /*
+     * Lunghezza massima degli array, quindi gli elementi ammessi vanno da 0 a
+     * MAX_CAPACITY - 1
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /*
+     * Gli array sono protected unicamente per permettere i test JUnit.
+     */
+    protected int[] rep;
+
+    protected int[] next;
+
+    protected int[] tail;
+
+    protected int[] size;
+
+    private int components;
+
+    /**
+     * Crea una collezione vuota di insiemi disgiunti.
+     */
+    public IntLinkedListDisjointSets() {
+        this(16);
+    }
+
+    /**
+     * Crea una collezione vuota di insiemi disgiunti con gli array già
+     * dimensionati per gli elementi da 0 a initialCapacity - 1.
+     *
+     * @param initialCapacity
+     *                            la capacità iniziale degli array
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public IntLinkedListDisjointSets(int initialCapacity) {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! La capacità non può essere negativa");
+        }
+        this.rep = new int[initialCapacity];
+        Arrays.fill(rep, -1);
+        this.next = new int[initialCapacity];
+        this.tail = new int[initialCapacity];
+        this.size = new int[initialCapacity];
+        this.components = 0;
+    }
+
+    /**
+     * Determina se un elemento è stato precedentemente inserito.
+     *
+     * @param e
+     *              l'elemento da cercare
+     * @return true se l'elemento è presente in qualche insieme disgiunto
+     */
+    public boolean isPresent(int e) {
+        return e >= 0 && e < rep.length && rep[e] >= 0;
+    }
+
+    /**
+     * Crea un nuovo insieme disgiunto contenente solo l'elemento dato.
+     *
+     * @param e
+     *              l'elemento da inserire
+     * @throws IllegalArgumentException
+     *                                      se l'elemento è negativo, supera la
+     *                                      capacità massima degli array o è
+     *                                      già presente
+     */
+    public void makeSet(int e) {
+        if (e < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! Gli elementi devono essere non negativi");
+        }
+        if (e >= MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento supera la capacità massima");
+        }
+        if (isPresent(e))
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento è già contenuto nella lista");
+        }
+        ensureCapacity(e + 1);
+        rep[e] = e;         //lista singoletto: l'elemento è rappresentante e ultimo elemento
+        next[e] = -1;
+        tail[e] = e;
+        size[e] = 1;
+        components++;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto in cui si trova
+     * l'elemento passato.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il rappresentante dell'insieme di e
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente
+     */
+    public int findSet(int e) {
+        checkPresent(e);
+        return rep[e];
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di cui fanno parte i due elementi passati.
+     * Se fanno già parte dello stesso insieme non fa nulla.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due elementi non
+     *                                      è presente
+     */
+    public void union(int e1, int e2) {
+        if (!isPresent(e1) || !isPresent(e2))
+        {
+            throw new IllegalArgumentException("Almeno uno dei due non è presente in nessuno degli elementi disgiunti");
+        }
+        int newR = rep[e1];
+        int oldR = rep[e2];
+        if (newR == oldR)
+        {
+            return;
+        }
+        if (size[newR] < size[oldR])        //il rappresentante è quello dell'insieme più grande
+        {
+            int tmp = newR;
+            newR = oldR;
+            oldR = tmp;
+        }
+        for (int current = oldR; current != -1; current = next[current])   //aggiorno solo la lista più corta
+        {
+            rep[current] = newR;
+        }
+        next[tail[newR]] = oldR;            //accodo la lista più corta
+        tail[newR] = tail[oldR];
+        size[newR] += size[oldR];
+        components--;
+    }
+
+    /**
+     * Restituisce il numero di elementi dell'insieme di cui fa parte
+     * l'elemento passato.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return la cardinalità dell'insieme di e
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente
+     */
+    public int getCardinalityOfSetContaining(int e) {
+        checkPresent(e);
+        return size[rep[e]];
+    }
+
+    /**
+     * Restituisce gli elementi dell'insieme di cui fa parte l'elemento
+     * passato, percorrendo la sua lista.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return gli elementi dell'insieme di e, nell'ordine della lista
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente
+     */
+    public int[] getCurrentElementsOfSetContaining(int e) {
+        checkPresent(e);
+        int[] result = new int[size[rep[e]]];
+        int i = 0;
+        for (int current = rep[e]; current != -1; current = next[current])
+        {
+            result[i++] = current;
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce l'insieme dei rappresentanti correnti. Costa O(capacità).
+     *
+     * @return l'insieme dei rappresentanti
+     */
+    public Set<Integer> getCurrentRepresentatives() {
+        Set<Integer> result = new HashSet<>();
+        for (int i = 0; i < rep.length; i++)
+        {
+            if (rep[i] == i)
+            {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount() {
+        return components;
+    }
+
+    private void checkPresent(int e) {
+        if (!isPresent(e))
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento 'e' non è contenuto");
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= rep.length)
+        {
+            return;
+        }
+        int newLength = (int) Math.max(capacity, Math.min(MAX_CAPACITY, 2L * rep.length));
+        int oldLength = rep.length;
+        rep = Arrays.copyOf(rep, newLength);
+        Arrays.fill(rep, oldLength, newLength, -1);
+        next = Arrays.copyOf(next, newLength);
+        tail = Arrays.copyOf(tail, newLength);
+        size = Arrays.copyOf(size, newLength);
+    }
+}
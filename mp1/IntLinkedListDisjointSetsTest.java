@@ -0,0 +1,125 @@
+package it.unicam.cs.asdl2324.mp1;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import java.util.Set;
+import java.util.HashSet;
+
+/**
+ * Classe di test per IntLinkedListDisjointSets. Eredita ed esegue gli scenari
+ * di LinkedListDisjointSetsTest attraverso un adattatore che usa il valore
+ * degli elementi come indice; i controlli sui campi degli elementi non si
+ * applicano a questa implementazione.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+class IntLinkedListDisjointSetsTest extends LinkedListDisjointSetsTest {
+
+    @Override
+    DisjointSets newDisjointSets() {
+        return new Adapter();
+    }
+
+    @Override
+    boolean checksElementFields() {
+        return false;
+    }
+
+    @Test
+    final void testArraysAfterUnion() {
+        IntLinkedListDisjointSets ds = new IntLinkedListDisjointSets(2);
+        for (int i = 0; i < 5; i++)
+            ds.makeSet(i);
+        ds.union(0, 1);
+        ds.union(2, 3);
+        ds.union(2, 4);
+        ds.union(1, 4);
+        assertEquals(2, ds.findSet(0));
+        assertEquals(5, ds.getCardinalityOfSetContaining(1));
+        assertEquals(1, ds.tail[2]);
+        assertEquals(1, ds.componentCount());
+        assertArrayEquals(new int[] { 2, 3, 4, 0, 1 },
+                ds.getCurrentElementsOfSetContaining(0));
+        assertThrows(IllegalArgumentException.class, () -> ds.findSet(5));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.makeSet(Integer.MAX_VALUE));
+        assertFalse(ds.isPresent(Integer.MAX_VALUE));
+    }
+
+    /*
+     * Adattatore che presenta IntLinkedListDisjointSets come DisjointSets per
+     * elementi MyIntLinkedListDisjointSetElement, usando il loro valore come
+     * indice. I campi degli elementi non vengono modificati.
+     */
+    private static class Adapter implements DisjointSets {
+
+        private final IntLinkedListDisjointSets sets = new IntLinkedListDisjointSets();
+
+        private DisjointSetElement[] elements = new DisjointSetElement[16];
+
+        private static int valueOf(DisjointSetElement e) {
+            return ((MyIntLinkedListDisjointSetElement) e).getValue();
+        }
+
+        @Override
+        public boolean isPresent(DisjointSetElement e) {
+            return sets.isPresent(valueOf(e));
+        }
+
+        @Override
+        public void makeSet(DisjointSetElement e) {
+            if (e == null)
+                throw new NullPointerException();
+            int value = valueOf(e);
+            sets.makeSet(value);
+            if (value >= elements.length)
+                elements = java.util.Arrays.copyOf(elements,
+                        Math.max(value + 1, 2 * elements.length));
+            elements[value] = e;
+        }
+
+        @Override
+        public DisjointSetElement findSet(DisjointSetElement e) {
+            if (e == null)
+                throw new NullPointerException();
+            return elements[sets.findSet(valueOf(e))];
+        }
+
+        @Override
+        public void union(DisjointSetElement e1, DisjointSetElement e2) {
+            if (e1 == null || e2 == null)
+                throw new NullPointerException();
+            sets.union(valueOf(e1), valueOf(e2));
+        }
+
+        @Override
+        public Set<DisjointSetElement> getCurrentRepresentatives() {
+            Set<DisjointSetElement> result = new HashSet<DisjointSetElement>();
+            for (int r : sets.getCurrentRepresentatives())
+                result.add(elements[r]);
+            return result;
+        }
+
+        @Override
+        public Set<DisjointSetElement> getCurrentElementsOfSetContaining(
+                DisjointSetElement e) {
+            if (e == null)
+                throw new NullPointerException();
+            Set<DisjointSetElement> result = new HashSet<DisjointSetElement>();
+            for (int i : sets.getCurrentElementsOfSetContaining(valueOf(e)))
+                result.add(elements[i]);
+            return result;
+        }
+
+        @Override
+        public int getCardinalityOfSetContaining(DisjointSetElement e) {
+            if (e == null)
+                throw new NullPointerException();
+            return sets.getCardinalityOfSetContaining(valueOf(e));
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package it.unicam.cs.asdl2324.mp1;
+
+/**
+ * Estensione dell'interfaccia {@code DisjointSetElement} per gli elementi
+ * usati da {@code LinkedListDisjointSets}. Oltre ai riferimenti al
+ * rappresentante (ref1) e al prossimo elemento (ref2) un elemento conserva un
+ * riferimento all'ultimo elemento della lista concatenata, significativo solo
+ * se l'elemento è il rappresentante. In questo modo l'unione può accodare una
+ * lista all'altra senza doverla percorrere.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public interface LinkedListDisjointSetElement extends DisjointSetElement {
+
+    /**
+     * Fornisce l'ultimo elemento della lista concatenata di cui questo
+     * elemento è il rappresentante. Se l'elemento non è un rappresentante il
+     * valore restituito non è significativo.
+     *
+     * @return l'ultimo elemento della lista di cui questo elemento è il
+     *         rappresentante
+     */
+    DisjointSetElement getTail();
+
+    /**
+     * Cambia il riferimento all'ultimo elemento della lista. Si veda la API
+     * del metodo {@code getTail}.
+     *
+     * @param e
+     *              il nuovo ultimo elemento della lista
+     */
+    void setTail(DisjointSetElement e);
+
+}
@@ -6,11 +6,20 @@ import java.util.Set;
 /**
  *
  * La struttura Set<DisjointSetElement> (HashSet<>()) sviluppa l'implementazione dei metodi.
- * Ci sono i "rappresentanti" che tengono traccia degli insiemi.
+ * Ci sono i "rappresentanti" che tengono traccia degli insiemi; servono solo
+ * per getCurrentRepresentatives, mentre la presenza di un elemento si
+ * controlla con il suo ref1, senza calcolare hash.
  * Sono presenti metodi offerti dalla classe DisjointSetElement,
  * per ottenere il rappresentante e altre cose che erano
  * vitali per la corretta implementazione della classe.
  *
+ * La cardinalità (number) è significativa solo sul rappresentante. Se gli
+ * elementi implementano {@code LinkedListDisjointSetElement} il rappresentante
+ * conserva anche l'ultimo elemento della lista, e l'unione costa
+ * O(min(|A|,|B|)): si percorre solo la lista più corta per aggiornare ref1.
+ * Per gli altri elementi la lista più corta viene inserita subito dopo il
+ * rappresentante, con lo stesso costo.
+ *
  * @author Luca Tesei (template) **DAVUD, SUFA
  *         davud.sufa@studenti.unicam.it** (implementazione)
  *
@@ -47,12 +56,16 @@ public class LinkedListDisjointSets implements DisjointSets {
         {
             throw new NullPointerException("ERRORE! Fornire un elemento non nullo");
         }
-        if(rappresentanti.contains(e.getRef1()))
+        if(isPresent(e))        //l'elemento è presente se ha già un rappresentante
         {
             throw new IllegalArgumentException("ERRORE! L'elemento è già contenuto nella lista");
         }
         e.setRef1(e);       //viene messo il puntatore al rappresentante dell'elemento 'e' su se stesso
         e.setNumber(1);
+        if (e instanceof LinkedListDisjointSetElement)
+        {
+            ((LinkedListDisjointSetElement) e).setTail(e);     //la lista singoletto finisce con l'elemento stesso
+        }
         rappresentanti.add(e);  //si aggiunge e all'insieme dei rappresentanti
     }
 
@@ -67,7 +80,7 @@ public class LinkedListDisjointSets implements DisjointSets {
         {
             throw new NullPointerException("ERRORE! Fornire un elemento non nullo");
         }
-        if(!rappresentanti.contains(e.getRef1()))       //condizione: la lista contiene 'e' ?
+        if(!isPresent(e))       //condizione: la lista contiene 'e' ?
         {
             throw new IllegalArgumentException("ERRORE! L'elemento 'e' non è contenuto");
         }
@@ -94,7 +107,7 @@ public class LinkedListDisjointSets implements DisjointSets {
         {
             throw new NullPointerException("L'elemento e1 o e2 è nullo");
         }
-         if(!rappresentanti.contains(e1.getRef1()) || !rappresentanti.contains(e2.getRef1()))   //controllo se e1 o e2 non sono presenti nei set dei rappresentanti
+        if(!isPresent(e1) || !isPresent(e2))   //controllo se e1 o e2 non hanno un rappresentante
         {
             throw new IllegalArgumentException("Almeno uno dei due non è presente in nessuno degli elementi disgiunti");
         }
@@ -104,8 +117,8 @@ public class LinkedListDisjointSets implements DisjointSets {
         }
         DisjointSetElement newR;         //determina il nuovo 'newR' rappresentante e quello vecchio 'oldR'
         DisjointSetElement oldR;
-        int getE1 = e1.getNumber();
-        int getE2 = e2.getNumber();
+        int getE1 = e1.getRef1().getNumber();       //la cardinalità è tenuta solo sui rappresentanti
+        int getE2 = e2.getRef1().getNumber();
         if(getE1 >= getE2)
         {
             newR = e1.getRef1();
@@ -117,25 +130,28 @@ public class LinkedListDisjointSets implements DisjointSets {
             oldR = e1.getRef1();
         }
 
-        DisjointSetElement current = newR;   //aggiorna gli elementi nel nuovo set di rappresentanti
+        DisjointSetElement current = oldR;    //percorro solo la lista più corta per aggiornare i rappresentanti
         while(current.getRef2() != null)
         {
-            current.setNumber(getE1+getE2);
+            current.setRef1(newR);
             current = current.getRef2();
         }
+        current.setRef1(newR);
+        DisjointSetElement oldTail = current;
 
-        current.setNumber(getE1 + getE2);   //aggiorna i riferimenti e i numeri
-        current.setRef2(oldR);
-
-        current = current.getRef2();    //si sposta nell'insieme dei rappresentanti. Aggiorna i riferimenti e i numeri
-        while(current.getRef2() != null)
+        if (newR instanceof LinkedListDisjointSetElement)      //accodo la lista più corta usando il tail del rappresentante
         {
-            current.setRef1(newR);
-            current.setNumber(getE1+getE2);
-            current = current.getRef2();
+            LinkedListDisjointSetElement rep = (LinkedListDisjointSetElement) newR;
+            rep.getTail().setRef2(oldR);
+            rep.setTail(oldTail);
         }
-        current.setRef1(newR);
-        current.setNumber(getE1+getE2);
+        else                                                    //senza tail la inserisco subito dopo il rappresentante
+        {
+            oldTail.setRef2(newR.getRef2());
+            newR.setRef2(oldR);
+        }
+        newR.setNumber(getE1 + getE2);
+        oldR.setNumber(0);                  //'oldR' non è più un rappresentante
         rappresentanti.remove(oldR);        //si elimina l'ultimo rappresentante
     }
 
@@ -153,7 +169,7 @@ public class LinkedListDisjointSets implements DisjointSets {
             throw new NullPointerException("ERRORE! L'elemento non deve essere nullo");
         }
 
-        if (!rappresentanti.contains(e.getRef1())) {
+        if (!isPresent(e)) {
             throw new IllegalArgumentException("ERRORE! L'elemento 'e' non è presente.");
         }
 
@@ -173,11 +189,11 @@ public class LinkedListDisjointSets implements DisjointSets {
         {
             throw new NullPointerException("ERRORE! L'elemento non deve essere nullo");
         }
-        if (!rappresentanti.contains(e.getRef1()))
+        if (!isPresent(e))
         {
             throw new IllegalArgumentException("ERRORE! L'elemento 'e' non è presente.");
         }
-        return e.getNumber();
+        return e.getRef1().getNumber();
     }
 
 }
@@ -14,29 +14,47 @@ import java.util.HashSet;
  */
 class LinkedListDisjointSetsTest {
 
+    /*
+     * Crea la struttura su cui vengono eseguiti gli scenari; le sottoclassi
+     * la ridefiniscono per provare altre implementazioni.
+     */
+    DisjointSets newDisjointSets() {
+        return new LinkedListDisjointSets();
+    }
+
+    /*
+     * Indica se gli scenari devono controllare anche i campi degli elementi,
+     * che vengono aggiornati solo da LinkedListDisjointSets.
+     */
+    boolean checksElementFields() {
+        return true;
+    }
+
     @Test
     final void testLinkedListDisjointSets() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
     }
 
     @Test
     final void testIsPresent() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
         assertTrue(ds.isPresent(e1));
-        assertTrue(e1.getRef1() != null);
+        if (checksElementFields())
+            assertTrue(e1.getRef1() != null);
         MyIntLinkedListDisjointSetElement e2 = new MyIntLinkedListDisjointSetElement(
                 2);
         assertFalse(ds.isPresent(e2));
-        assertTrue(e2.getRef1() == null);
+        if (checksElementFields())
+            assertTrue(e2.getRef1() == null);
     }
 
     @Test
     final void testIsPresentAfterUnion() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
@@ -62,11 +80,13 @@ class LinkedListDisjointSetsTest {
         assertTrue(ds.isPresent(e2));
         assertTrue(ds.isPresent(e3));
         assertTrue(ds.isPresent(e4));
-        assertTrue(e4.getRef1() != null);
+        if (checksElementFields())
+            assertTrue(e4.getRef1() != null);
         assertFalse(ds.isPresent(e5));
         ds.union(e1, e4);
         assertTrue(ds.isPresent(e1));
-        assertTrue(e1.getRef1() != null);
+        if (checksElementFields())
+            assertTrue(e1.getRef1() != null);
         assertTrue(ds.isPresent(e2));
         assertTrue(ds.isPresent(e3));
         assertTrue(ds.isPresent(e4));
@@ -75,26 +95,30 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testMakeSet() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
-        assertTrue(e1.getRef1() == e1);
-        assertTrue(e1.getRef2() == null);
-        assertTrue(e1.getNumber() == 1);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == e1);
+            assertTrue(e1.getRef2() == null);
+            assertTrue(e1.getNumber() == 1);
+        }
         assertTrue(ds.findSet(e1) == e1);
         MyIntLinkedListDisjointSetElement e2 = new MyIntLinkedListDisjointSetElement(
                 2);
         ds.makeSet(e2);
-        assertTrue(e2.getRef1() == e2);
-        assertTrue(e2.getRef2() == null);
-        assertTrue(e2.getNumber() == 1);
+        if (checksElementFields()) {
+            assertTrue(e2.getRef1() == e2);
+            assertTrue(e2.getRef2() == null);
+            assertTrue(e2.getNumber() == 1);
+        }
         assertTrue(ds.findSet(e2) == e2);
     }
 
     @Test
     final void testMakeSetExceptions() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertThrows(NullPointerException.class, () -> ds.makeSet(null));
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
@@ -116,23 +140,29 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testMakeSetRepresentatives() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
         assertTrue(ds.findSet(e1) == e1);
-        assertTrue(e1.getRef1() == e1);
-        assertTrue(e1.getRef2() == null);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == e1);
+            assertTrue(e1.getRef2() == null);
+        }
         assertTrue(ds.getCardinalityOfSetContaining(e1) == 1);
-        assertTrue(e1.getNumber() == 1);
+        if (checksElementFields())
+            assertTrue(e1.getNumber() == 1);
         MyIntLinkedListDisjointSetElement e2 = new MyIntLinkedListDisjointSetElement(
                 2);
         ds.makeSet(e2);
         assertTrue(ds.findSet(e2) == e2);
-        assertTrue(e2.getRef1() == e2);
-        assertTrue(e2.getRef2() == null);
+        if (checksElementFields()) {
+            assertTrue(e2.getRef1() == e2);
+            assertTrue(e2.getRef2() == null);
+        }
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 1);
-        assertTrue(e2.getNumber() == 1);
+        if (checksElementFields())
+            assertTrue(e2.getNumber() == 1);
         MyIntLinkedListDisjointSetElement e3 = new MyIntLinkedListDisjointSetElement(
                 3);
         ds.makeSet(e3);
@@ -155,7 +185,7 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testFindSetExceptions() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertThrows(NullPointerException.class, () -> ds.findSet(null));
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
@@ -171,26 +201,30 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testFindSetSingletons() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
         assertTrue(ds.findSet(e1) == e1);
-        assertTrue(e1.getRef1() == e1);
-        assertTrue(e1.getRef2() == null);
-        assertTrue(e1.getNumber() == 1);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == e1);
+            assertTrue(e1.getRef2() == null);
+            assertTrue(e1.getNumber() == 1);
+        }
         MyIntLinkedListDisjointSetElement e2 = new MyIntLinkedListDisjointSetElement(
                 2);
         ds.makeSet(e2);
         assertTrue(ds.findSet(e2) == e2);
-        assertTrue(e2.getRef1() == e2);
-        assertTrue(e2.getRef2() == null);
-        assertTrue(e2.getNumber() == 1);
+        if (checksElementFields()) {
+            assertTrue(e2.getRef1() == e2);
+            assertTrue(e2.getRef2() == null);
+            assertTrue(e2.getNumber() == 1);
+        }
     }
 
     @Test
     final void testFindSetAfterUnion() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
@@ -208,9 +242,11 @@ class LinkedListDisjointSetsTest {
         ds.makeSet(e5);
         ds.union(e1, e2);
         assertTrue(ds.findSet(e2) == ds.findSet(e1));
-        assertTrue(e1.getRef1() == e2.getRef1());
-        assertTrue(ds.findSet(e1).getRef2() != null);
-        assertTrue(ds.findSet(e2).getNumber() == 2);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == e2.getRef1());
+            assertTrue(ds.findSet(e1).getRef2() != null);
+            assertTrue(ds.findSet(e2).getNumber() == 2);
+        }
         ds.union(e3, e4);
         assertTrue(ds.findSet(e3) == ds.findSet(e4));
         ds.union(e5, e3);
@@ -221,14 +257,16 @@ class LinkedListDisjointSetsTest {
         assertTrue(ds.findSet(e2) == ds.findSet(e3));
         assertTrue(ds.findSet(e3) == ds.findSet(e4));
         assertTrue(ds.findSet(e4) == ds.findSet(e5));
-        assertTrue(e1.getRef1() == e4.getRef1());
-        assertTrue(e2.getRef1().getRef2() != null);
-        assertTrue(e3.getRef1().getNumber() == 5);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == e4.getRef1());
+            assertTrue(e2.getRef1().getRef2() != null);
+            assertTrue(e3.getRef1().getNumber() == 5);
+        }
     }
 
     @Test
     final void testUnionException() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertThrows(NullPointerException.class, () -> ds.union(null, null));
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
@@ -253,7 +291,7 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testUnionSet() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
@@ -284,11 +322,14 @@ class LinkedListDisjointSetsTest {
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 2);
         assertTrue(ds.getCardinalityOfSetContaining(e1) == 2);
         ds.union(e1, e3);
-        assertTrue(e1.getRef1() == e2.getRef1());
-        assertTrue(e2.getRef1() == e3.getRef1());
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == e2.getRef1());
+            assertTrue(e2.getRef1() == e3.getRef1());
+        }
         assertTrue(ds.getCurrentRepresentatives().size() == 3);
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 3);
-        assertTrue(e1.getRef1().getNumber() == 3);
+        if (checksElementFields())
+            assertTrue(e1.getRef1().getNumber() == 3);
         assertTrue(ds.getCardinalityOfSetContaining(e3) == 3);
         ds.union(e4, e5);
         assertTrue(ds.findSet(e4) == ds.findSet(e5));
@@ -298,19 +339,22 @@ class LinkedListDisjointSetsTest {
         ds.union(e4, e2);
         assertTrue(ds.findSet(e1) == ds.findSet(e2));
         assertTrue(ds.findSet(e2) == ds.findSet(e3));
-        assertTrue(e3.getRef1() == e4.getRef1());
+        if (checksElementFields())
+            assertTrue(e3.getRef1() == e4.getRef1());
         assertTrue(ds.findSet(e4) == ds.findSet(e5));
         assertTrue(ds.getCurrentRepresentatives().size() == 1);
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 5);
-        assertTrue(e1.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e1.getRef1().getNumber() == 5);
         assertTrue(ds.getCardinalityOfSetContaining(e5) == 5);
-        assertTrue(e4.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e4.getRef1().getNumber() == 5);
         assertTrue(ds.getCardinalityOfSetContaining(e3) == 5);
     }
 
     @Test
     final void testUnionNewRepresentativesDifferentNumberOfElements1() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
@@ -330,30 +374,35 @@ class LinkedListDisjointSetsTest {
         DisjointSetElement rep1 = ds.findSet(e2);
         ds.union(e3, e1);
         assertTrue(ds.findSet(e1) == rep1);
-        assertTrue(e2.getRef1() == rep1);
+        if (checksElementFields())
+            assertTrue(e2.getRef1() == rep1);
         assertTrue(ds.findSet(e3) == rep1);
         ds.union(e4, e5);
         ds.union(e5, e1);
         assertTrue(ds.findSet(e1) == rep1);
         assertTrue(ds.findSet(e2) == rep1);
-        assertTrue(e3.getRef1() == rep1);
+        if (checksElementFields())
+            assertTrue(e3.getRef1() == rep1);
         assertTrue(ds.findSet(e4) == rep1);
-        assertTrue(e5.getRef1() == rep1);
+        if (checksElementFields())
+            assertTrue(e5.getRef1() == rep1);
         MyIntLinkedListDisjointSetElement e6 = new MyIntLinkedListDisjointSetElement(
                 6);
         ds.makeSet(e6);
         ds.union(e6, e2);
         assertTrue(ds.findSet(e1) == rep1);
-        assertTrue(e2.getRef1() == rep1);
+        if (checksElementFields())
+            assertTrue(e2.getRef1() == rep1);
         assertTrue(ds.findSet(e3) == rep1);
         assertTrue(ds.findSet(e4) == rep1);
-        assertTrue(e5.getRef1() == rep1);
+        if (checksElementFields())
+            assertTrue(e5.getRef1() == rep1);
         assertTrue(ds.findSet(e6) == rep1);
     }
 
     @Test
     final void testUnionNewRepresentativesDifferentNumberOfElements2() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
@@ -372,9 +421,11 @@ class LinkedListDisjointSetsTest {
         ds.union(e1, e2);
         DisjointSetElement rep1 = ds.findSet(e2);
         ds.union(e3, e1);
-        assertTrue(e1.getRef1() == rep1);
-        assertTrue(e2.getRef1() == rep1);
-        assertTrue(e3.getRef1() == rep1);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1() == rep1);
+            assertTrue(e2.getRef1() == rep1);
+            assertTrue(e3.getRef1() == rep1);
+        }
         MyIntLinkedListDisjointSetElement e6 = new MyIntLinkedListDisjointSetElement(
                 6);
         ds.makeSet(e6);
@@ -384,17 +435,24 @@ class LinkedListDisjointSetsTest {
         ds.union(e4, e5);
         ds.union(e5, e6);
         ds.union(e6, e7);
-        DisjointSetElement rep2 = e7.getRef1();
+        DisjointSetElement rep2 = ds.findSet(e7);
+        if (checksElementFields())
+            assertTrue(e7.getRef1() == rep2);
         assertTrue(ds.findSet(e4) == rep2);
         assertTrue(ds.findSet(e5) == rep2);
-        assertTrue(e6.getRef1() == rep2);
+        if (checksElementFields())
+            assertTrue(e6.getRef1() == rep2);
         assertTrue(ds.findSet(e7) == rep2);
-        assertTrue(rep1.getNumber() == 3);
-        assertTrue(rep2.getNumber() == 4);
+        if (checksElementFields()) {
+            assertTrue(rep1.getNumber() == 3);
+            assertTrue(rep2.getNumber() == 4);
+        }
         ds.union(rep1, rep2);
-        assertTrue(e1.getRef1().getNumber() == 7);
-        assertTrue(e3.getRef1().getNumber() == 7);
-        assertTrue(e6.getRef1().getNumber() == 7);
+        if (checksElementFields()) {
+            assertTrue(e1.getRef1().getNumber() == 7);
+            assertTrue(e3.getRef1().getNumber() == 7);
+            assertTrue(e6.getRef1().getNumber() == 7);
+        }
         assertTrue(ds.findSet(e1) == rep2);
         assertTrue(ds.findSet(e2) == rep2);
         assertTrue(ds.findSet(e3) == rep2);
@@ -406,7 +464,7 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testUnionNewRepresentativesEqualNumberoOfElements() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
@@ -427,17 +485,20 @@ class LinkedListDisjointSetsTest {
         assertTrue(ds.findSet(e2) == e1);
         ds.union(e4, e3);
         assertTrue(ds.findSet(e3) == e4);
-        assertTrue(e4.getRef1() == e4);
+        if (checksElementFields())
+            assertTrue(e4.getRef1() == e4);
         ds.union(e3, e2);
         assertTrue(ds.findSet(e1) == e4);
-        assertTrue(e2.getRef1() == e4);
-        assertTrue(e3.getRef1() == e4);
+        if (checksElementFields()) {
+            assertTrue(e2.getRef1() == e4);
+            assertTrue(e3.getRef1() == e4);
+        }
         assertTrue(ds.findSet(e4) == e4);
     }
 
     @Test
     final void testGetCurrentRepresentatives() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
         Set<DisjointSetElement> controlSet = new HashSet<DisjointSetElement>();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
@@ -468,28 +529,28 @@ class LinkedListDisjointSetsTest {
         controlSet.remove(e1);
         controlSet.remove(e5);
         ds.union(e1, e5);
-        controlSet.add(e5.getRef1());
+        controlSet.add(ds.findSet(e5));
         assertTrue(ds.getCurrentRepresentatives().equals(controlSet));
         controlSet.remove(e2);
-        controlSet.remove(e1.getRef1());
+        controlSet.remove(ds.findSet(e1));
         ds.union(e1, e2);
-        controlSet.add(e2.getRef1());
+        controlSet.add(ds.findSet(e2));
         assertTrue(ds.getCurrentRepresentatives().equals(controlSet));
         controlSet.remove(e3);
         controlSet.remove(e4);
         ds.union(e4, e3);
-        controlSet.add(e3.getRef1());
+        controlSet.add(ds.findSet(e3));
         assertTrue(ds.getCurrentRepresentatives().equals(controlSet));
-        controlSet.remove(e5.getRef1());
-        controlSet.remove(e4.getRef1());
+        controlSet.remove(ds.findSet(e5));
+        controlSet.remove(ds.findSet(e4));
         ds.union(e1, e3);
-        controlSet.add(e3.getRef1());
+        controlSet.add(ds.findSet(e3));
         assertTrue(ds.getCurrentRepresentatives().equals(controlSet));
     }
 
     @Test
     final void testGetCurrentElementsOfSetContainingExceptions() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertThrows(NullPointerException.class,
                 () -> ds.getCurrentElementsOfSetContaining(null));
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
@@ -511,7 +572,7 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testGetCurrentElementsOfSetContaining() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         Set<DisjointSetElement> controlSet = new HashSet<DisjointSetElement>();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
@@ -540,7 +601,7 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testGetCardinalityOfSetContainingExceptions() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         assertThrows(NullPointerException.class,
                 () -> ds.getCardinalityOfSetContaining(null));
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
@@ -562,24 +623,28 @@ class LinkedListDisjointSetsTest {
 
     @Test
     final void testGetCardinalityOfSetContaining() {
-        DisjointSets ds = new LinkedListDisjointSets();
+        DisjointSets ds = newDisjointSets();
         MyIntLinkedListDisjointSetElement e1 = new MyIntLinkedListDisjointSetElement(
                 1);
         ds.makeSet(e1);
         assertTrue(ds.getCardinalityOfSetContaining(e1) == 1);
-        assertTrue(e1.getRef1().getNumber() == 1);
+        if (checksElementFields())
+            assertTrue(e1.getRef1().getNumber() == 1);
         MyIntLinkedListDisjointSetElement e2 = new MyIntLinkedListDisjointSetElement(
                 2);
         ds.makeSet(e2);
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 1);
-        assertTrue(e2.getRef1().getNumber() == 1);
+        if (checksElementFields())
+            assertTrue(e2.getRef1().getNumber() == 1);
         MyIntLinkedListDisjointSetElement e3 = new MyIntLinkedListDisjointSetElement(
                 3);
         ds.union(e1, e2);
         assertTrue(ds.getCardinalityOfSetContaining(e1) == 2);
-        assertTrue(e1.getRef1().getNumber() == 2);
+        if (checksElementFields())
+            assertTrue(e1.getRef1().getNumber() == 2);
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 2);
-        assertTrue(e2.getRef1().getNumber() == 2);
+        if (checksElementFields())
+            assertTrue(e2.getRef1().getNumber() == 2);
         ds.makeSet(e3);
         MyIntLinkedListDisjointSetElement e4 = new MyIntLinkedListDisjointSetElement(
                 4);
@@ -590,22 +655,53 @@ class LinkedListDisjointSetsTest {
         ds.union(e3, e5);
         ds.union(e3, e4);
         assertTrue(ds.getCardinalityOfSetContaining(e3) == 3);
-        assertTrue(e3.getRef1().getNumber() == 3);
+        if (checksElementFields())
+            assertTrue(e3.getRef1().getNumber() == 3);
         assertTrue(ds.getCardinalityOfSetContaining(e4) == 3);
-        assertTrue(e4.getRef1().getNumber() == 3);
+        if (checksElementFields())
+            assertTrue(e4.getRef1().getNumber() == 3);
         assertTrue(ds.getCardinalityOfSetContaining(e5) == 3);
-        assertTrue(e5.getRef1().getNumber() == 3);
+        if (checksElementFields())
+            assertTrue(e5.getRef1().getNumber() == 3);
         ds.union(e1, e3);
         assertTrue(ds.getCardinalityOfSetContaining(e1) == 5);
-        assertTrue(e1.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e1.getRef1().getNumber() == 5);
         assertTrue(ds.getCardinalityOfSetContaining(e2) == 5);
-        assertTrue(e2.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e2.getRef1().getNumber() == 5);
         assertTrue(ds.getCardinalityOfSetContaining(e3) == 5);
-        assertTrue(e3.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e3.getRef1().getNumber() == 5);
         assertTrue(ds.getCardinalityOfSetContaining(e4) == 5);
-        assertTrue(e4.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e4.getRef1().getNumber() == 5);
         assertTrue(ds.getCardinalityOfSetContaining(e5) == 5);
-        assertTrue(e5.getRef1().getNumber() == 5);
+        if (checksElementFields())
+            assertTrue(e5.getRef1().getNumber() == 5);
+    }
+
+    @Test
+    final void testUnionKeepsTailOnRepresentative() {
+        DisjointSets ds = newDisjointSets();
+        int n = 100000;
+        MyIntLinkedListDisjointSetElement[] elements = new MyIntLinkedListDisjointSetElement[n];
+        for (int i = 0; i < n; i++) {
+            elements[i] = new MyIntLinkedListDisjointSetElement(i);
+            ds.makeSet(elements[i]);
+        }
+        for (int i = 1; i < n; i++)
+            ds.union(elements[0], elements[i]);
+        MyIntLinkedListDisjointSetElement rep = elements[0];
+        assertTrue(ds.findSet(elements[n - 1]) == rep);
+        if (checksElementFields()) {
+            assertTrue(rep.getNumber() == n);
+            assertTrue(rep.getTail() == elements[n - 1]);
+            assertTrue(elements[n - 1].getRef2() == null);
+        }
+        assertTrue(ds.getCardinalityOfSetContaining(elements[n / 2]) == n);
+        assertTrue(ds.getCurrentElementsOfSetContaining(elements[1]).size() == n);
+        assertTrue(ds.getCurrentRepresentatives().size() == 1);
     }
 
 }
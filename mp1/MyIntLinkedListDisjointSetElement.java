@@ -9,7 +9,7 @@ package it.unicam.cs.asdl2324.mp1;
  * @author Luca Tesei
  *
  */
-public class MyIntLinkedListDisjointSetElement implements DisjointSetElement {
+public class MyIntLinkedListDisjointSetElement implements LinkedListDisjointSetElement {
 
     /*
      * L'intero che rappresenta questo elemento
@@ -34,6 +34,12 @@ public class MyIntLinkedListDisjointSetElement implements DisjointSetElement {
      */
     private int size;
 
+    /*
+     * Puntatore all'ultimo elemento della lista concatenata, significativo
+     * solo se questo elemento è il rappresentante
+     */
+    private DisjointSetElement tail;
+
     /**
      * Crea un nuovo elemento di un insieme disgiunto.
      * 
@@ -52,6 +58,7 @@ public class MyIntLinkedListDisjointSetElement implements DisjointSetElement {
         this.representative = null;
         this.nextElement = null;
         this.size = 0;
+        this.tail = null;
     }
 
     /**
@@ -81,6 +88,16 @@ public class MyIntLinkedListDisjointSetElement implements DisjointSetElement {
         this.nextElement = e;
     }
 
+    @Override
+    public DisjointSetElement getTail() {
+        return this.tail;
+    }
+
+    @Override
+    public void setTail(DisjointSetElement e) {
+        this.tail = e;
+    }
+
     @Override
     public int getNumber() {
         return this.size;
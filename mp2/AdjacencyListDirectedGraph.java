@@ -0,0 +1,554 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che implementa un grafo orientato tramite liste di adiacenza. Non sono
+ * accettate etichette dei nodi null e non sono accettate etichette duplicate
+ * nei nodi (che in quel caso sono lo stesso nodo).
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1 seguendo l'ordine del loro
+ * inserimento e, quando un nodo viene cancellato, gli indici dei nodi
+ * successivi vengono decrementati di uno.
+ *
+ * Per ogni nodo sono mantenute due mappe: quella degli archi uscenti, che
+ * associa ad ogni successore l'arco che vi entra, e quella degli archi
+ * entranti, che associa ad ogni predecessore l'arco che ne esce. In questo modo
+ * sia le interrogazioni sugli archi uscenti che quelle sugli archi entranti
+ * costano O(grado uscente) e O(grado entrante), senza scansioni dell'intero
+ * grafo.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class AdjacencyListDirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione indice -> nodo
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione etichetta -> nodo
+     */
+    protected Map<L, GraphNode<L>> labels;
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Archi uscenti: nella posizione i la mappa successore -> arco del nodo i
+     */
+    protected ArrayList<Map<GraphNode<L>, GraphEdge<L>>> outgoing;
+
+    /*
+     * Archi entranti: nella posizione i la mappa predecessore -> arco del nodo
+     * i
+     */
+    protected ArrayList<Map<GraphNode<L>, GraphEdge<L>>> ingoing;
+
+    private int edges;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public AdjacencyListDirectedGraph()
+    {
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.labels = new HashMap<L, GraphNode<L>>();
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.outgoing = new ArrayList<Map<GraphNode<L>, GraphEdge<L>>>();
+        this.ingoing = new ArrayList<Map<GraphNode<L>, GraphEdge<L>>>();
+        this.edges = 0;
+    }
+
+    @Override
+    public int nodeCount()
+    {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount()
+    {
+        return edges;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.nodes.clear();
+        this.labels.clear();
+        this.nodesIndex.clear();
+        this.outgoing.clear();
+        this.ingoing.clear();
+        this.edges = 0;
+    }
+
+    @Override
+    public boolean isDirected()
+    {
+        return true;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (nodesIndex.containsKey(node))           //controllo se il nodo è già presente
+        {
+            return false;
+        }
+        nodesIndex.put(node, nodes.size());
+        labels.put(node.getLabel(), node);
+        nodes.add(node);
+        outgoing.add(new HashMap<GraphNode<L>, GraphEdge<L>>());
+        ingoing.add(new HashMap<GraphNode<L>, GraphEdge<L>>());
+        return true;
+    }
+
+    @Override
+    public boolean addNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
+        }
+        removeNodeAt(index);
+    }
+
+    @Override
+    public void removeNode(L label)
+    {
+        removeNodeAt(nodesIndex.get(existingNode(label)));
+    }
+
+    @Override
+    public void removeNode(int i)
+    {
+        checkIndex(i);
+        removeNodeAt(i);
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return labels.get(label);
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i)
+    {
+        checkIndex(i);
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label)
+    {
+        return nodesIndex.get(existingNode(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes()
+    {
+        return Collections.unmodifiableSet(nodesIndex.keySet());
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (!edge.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo è orientato");
+        }
+        Integer source = nodesIndex.get(edge.getNode1());
+        Integer target = nodesIndex.get(edge.getNode2());
+        if (source == null || target == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non esiste");
+        }
+        if (outgoing.get(source).containsKey(edge.getNode2()))      //esiste già un arco uguale
+        {
+            return false;
+        }
+        outgoing.get(source).put(edge.getNode2(), edge);
+        ingoing.get(target).put(edge.getNode1(), edge);
+        edges++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdge(new GraphEdge<>(node1, node2, true));
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdge(new GraphEdge<>(node1, node2, true, weight));
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2)
+    {
+        return addEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight)
+    {
+        return addWeightedEdge(existingNode(label1), existingNode(label2), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j)
+    {
+        return addEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight)
+    {
+        return addWeightedEdge(getNode(i), getNode(j), weight);
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (!edge.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        removeEdge(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node1 == null || node2 == null)
+        {
+            throw new NullPointerException("ERRORE! Uno dei due nodi è nullo");
+        }
+        Integer source = nodesIndex.get(node1);
+        Integer target = nodesIndex.get(node2);
+        if (source == null || target == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non è contenuto");
+        }
+        if (outgoing.get(source).remove(node2) == null)
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        ingoing.get(target).remove(node1);
+        edges--;
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2)
+    {
+        removeEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public void removeEdge(int i, int j)
+    {
+        removeEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        GraphEdge<L> found = getEdge(edge.getNode1(), edge.getNode2());
+        return edge.isDirected() ? found : null;    //un arco non orientato non è uguale a nessun arco di questo grafo
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due nodi è nullo");
+        }
+        Integer source = nodesIndex.get(node1);
+        if (source == null || !nodesIndex.containsKey(node2))
+        {
+            throw new IllegalArgumentException("ERRORE! I nodi non esistono");
+        }
+        return outgoing.get(source).get(node2);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2)
+    {
+        return getEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j)
+    {
+        return getEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(outgoing.get(getNodeIndexOf(node)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label)
+    {
+        return new HashSet<>(outgoing.get(getNodeIndexOf(label)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(outgoing.get(i).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(ingoing.get(getNodeIndexOf(node)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label)
+    {
+        return new HashSet<>(ingoing.get(getNodeIndexOf(label)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(ingoing.get(i).keySet());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(outgoing.get(getNodeIndexOf(node)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label)
+    {
+        return new HashSet<>(outgoing.get(getNodeIndexOf(label)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(outgoing.get(i).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(ingoing.get(getNodeIndexOf(node)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label)
+    {
+        return new HashSet<>(ingoing.get(getNodeIndexOf(label)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(ingoing.get(i).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges()
+    {
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (Map<GraphNode<L>, GraphEdge<L>> row : outgoing)
+        {
+            result.addAll(row.values());
+        }
+        return result;
+    }
+
+    /*
+     * Il grado è la somma delle dimensioni delle due mappe del nodo, senza
+     * costruire gli insiemi degli archi.
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node)
+    {
+        int i = getNodeIndexOf(node);
+        return outgoing.get(i).size() + ingoing.get(i).size();
+    }
+
+    @Override
+    public int getDegreeOf(L label)
+    {
+        int i = getNodeIndexOf(label);
+        return outgoing.get(i).size() + ingoing.get(i).size();
+    }
+
+    @Override
+    public int getDegreeOf(int i)
+    {
+        checkIndex(i);
+        return outgoing.get(i).size() + ingoing.get(i).size();
+    }
+
+    private void checkIndex(int i)
+    {
+        if (i < 0 || i >= nodes.size())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+
+    /*
+     * Restituisce il nodo con l'etichetta data, controllando che l'etichetta
+     * non sia null e che il nodo esista.
+     */
+    private GraphNode<L> existingNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        GraphNode<L> node = labels.get(label);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Il nodo con etichetta " + label + " non esiste");
+        }
+        return node;
+    }
+
+    private void removeNodeAt(int index)
+    {
+        GraphNode<L> node = nodes.get(index);
+        for (GraphNode<L> successor : outgoing.get(index).keySet())
+        {
+            ingoing.get(nodesIndex.get(successor)).remove(node);
+            edges--;
+        }
+        for (GraphNode<L> predecessor : ingoing.get(index).keySet())
+        {
+            if (!predecessor.equals(node))      //il cappio è già stato contato tra gli uscenti
+            {
+                outgoing.get(nodesIndex.get(predecessor)).remove(node);
+                edges--;
+            }
+        }
+        nodes.remove(index);
+        outgoing.remove(index);
+        ingoing.remove(index);
+        nodesIndex.remove(node);
+        labels.remove(node.getLabel());
+        for (int j = index; j < nodes.size(); j++)      //decremento gli indici dei nodi successivi
+        {
+            nodesIndex.put(nodes.get(j), j);
+        }
+    }
+}
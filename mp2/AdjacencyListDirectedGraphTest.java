@@ -0,0 +1,16 @@
+package it.unicam.cs.asdl2324.mp2;
+
+/**
+ * Classe di test per la classe AdjacencyListDirectedGraph. Gli scenari sono ereditati da
+ * DirectedGraphTest.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class AdjacencyListDirectedGraphTest extends DirectedGraphTest {
+
+    @Override
+    Graph<String> newGraph() {
+        return new AdjacencyListDirectedGraph<String>();
+    }
+
+}
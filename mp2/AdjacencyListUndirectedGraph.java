@@ -0,0 +1,559 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che implementa un grafo non orientato tramite liste di adiacenza. Non
+ * sono accettate etichette dei nodi null e non sono accettate etichette
+ * duplicate nei nodi (che in quel caso sono lo stesso nodo).
+ *
+ * Come in {@code AdjacencyMatrixUndirectedGraph} i nodi sono indicizzati da 0 a
+ * nodeCount() - 1 seguendo l'ordine del loro inserimento e, quando un nodo
+ * viene cancellato, gli indici dei nodi successivi vengono decrementati di uno.
+ *
+ * Per rendere tutte le ricerche O(1) o O(grado) il grafo mantiene tre
+ * strutture di indicizzazione sempre consistenti tra loro: una lista che
+ * associa ogni indice al proprio nodo, una mappa che associa ogni etichetta al
+ * proprio nodo e una mappa che associa ogni nodo al proprio indice. Gli archi
+ * sono memorizzati in una mappa per ogni nodo che associa ad ogni nodo
+ * adiacente l'arco che li collega; lo stesso oggetto GraphEdge<L> è presente
+ * nella mappa di entrambi i nodi collegati.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class AdjacencyListUndirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione indice -> nodo
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione etichetta -> nodo
+     */
+    protected Map<L, GraphNode<L>> labels;
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Liste di adiacenza: nella posizione i si trova la mappa che associa ad
+     * ogni nodo adiacente al nodo di indice i l'arco che li collega
+     */
+    protected ArrayList<Map<GraphNode<L>, GraphEdge<L>>> adjacency;
+
+    private int edges;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public AdjacencyListUndirectedGraph()
+    {
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.labels = new HashMap<L, GraphNode<L>>();
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.adjacency = new ArrayList<Map<GraphNode<L>, GraphEdge<L>>>();
+        this.edges = 0;
+    }
+
+    @Override
+    public int nodeCount()
+    {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount()
+    {
+        return edges;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.nodes.clear();
+        this.labels.clear();
+        this.nodesIndex.clear();
+        this.adjacency.clear();
+        this.edges = 0;
+    }
+
+    @Override
+    public boolean isDirected()
+    {
+        return false;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (nodesIndex.containsKey(node))           //controllo se il nodo è già presente
+        {
+            return false;
+        }
+        nodesIndex.put(node, nodes.size());
+        labels.put(node.getLabel(), node);
+        nodes.add(node);
+        adjacency.add(new HashMap<GraphNode<L>, GraphEdge<L>>());
+        return true;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo. Gli archi del nodo vengono tolti in O(grado), mentre lo
+     * spostamento degli indici costa O(n).
+     */
+    @Override
+    public void removeNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
+        }
+        removeNodeAt(index);
+    }
+
+    @Override
+    public void removeNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        GraphNode<L> node = labels.get(label);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
+        }
+        removeNodeAt(nodesIndex.get(node));
+    }
+
+    @Override
+    public void removeNode(int i)
+    {
+        checkIndex(i);
+        removeNodeAt(i);
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return labels.get(label);
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i)
+    {
+        checkIndex(i);
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        GraphNode<L> node = labels.get(label);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'label' non è contenuto");
+        }
+        return nodesIndex.get(node);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes()
+    {
+        return Collections.unmodifiableSet(nodesIndex.keySet());
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (edge.isDirected())      //controllo se il grafo è orientato
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo non è orientato");
+        }
+        Integer index1 = nodesIndex.get(edge.getNode1());
+        Integer index2 = nodesIndex.get(edge.getNode2());
+        if (index1 == null || index2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non esiste");
+        }
+        if (adjacency.get(index1).containsKey(edge.getNode2()))   //esiste già un arco uguale
+        {
+            return false;
+        }
+        adjacency.get(index1).put(edge.getNode2(), edge);
+        adjacency.get(index2).put(edge.getNode1(), edge);
+        edges++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdge(new GraphEdge<>(node1, node2, false));
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdge(new GraphEdge<>(node1, node2, false, weight));
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2)
+    {
+        return addEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight)
+    {
+        return addWeightedEdge(existingNode(label1), existingNode(label2), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j)
+    {
+        return addEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight)
+    {
+        return addWeightedEdge(getNode(i), getNode(j), weight);
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        removeEdge(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node1 == null || node2 == null)
+        {
+            throw new NullPointerException("ERRORE! Uno dei due nodi è nullo");
+        }
+        Integer index1 = nodesIndex.get(node1);
+        Integer index2 = nodesIndex.get(node2);
+        if (index1 == null || index2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non è contenuto");
+        }
+        if (adjacency.get(index1).remove(node2) == null)
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        adjacency.get(index2).remove(node1);
+        edges--;
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2)
+    {
+        removeEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public void removeEdge(int i, int j)
+    {
+        removeEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (edge.isDirected())
+        {
+            getEdge(edge.getNode1(), edge.getNode2());      //controlla comunque l'esistenza dei nodi
+            return null;
+        }
+        return getEdge(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due nodi è nullo");
+        }
+        Integer index1 = nodesIndex.get(node1);
+        if (index1 == null || !nodesIndex.containsKey(node2))
+        {
+            throw new IllegalArgumentException("ERRORE! I nodi non esistono");
+        }
+        return adjacency.get(index1).get(node2);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2)
+    {
+        return getEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j)
+    {
+        return getEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(adjacency.get(getNodeIndexOf(node)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label)
+    {
+        return new HashSet<>(adjacency.get(getNodeIndexOf(label)).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(adjacency.get(i).keySet());
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(adjacency.get(getNodeIndexOf(node)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label)
+    {
+        return new HashSet<>(adjacency.get(getNodeIndexOf(label)).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(adjacency.get(i).values());
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges()
+    {
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (Map<GraphNode<L>, GraphEdge<L>> row : adjacency)
+        {
+            result.addAll(row.values());        //ogni arco compare in due righe, il set elimina i doppioni
+        }
+        return result;
+    }
+
+    /*
+     * Il grado è la dimensione della lista di adiacenza del nodo.
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node)
+    {
+        return adjacency.get(getNodeIndexOf(node)).size();
+    }
+
+    @Override
+    public int getDegreeOf(L label)
+    {
+        return adjacency.get(getNodeIndexOf(label)).size();
+    }
+
+    @Override
+    public int getDegreeOf(int i)
+    {
+        checkIndex(i);
+        return adjacency.get(i).size();
+    }
+
+    private void checkIndex(int i)
+    {
+        if (i < 0 || i >= nodes.size())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+
+    /*
+     * Restituisce il nodo con l'etichetta data, controllando che l'etichetta
+     * non sia null e che il nodo esista.
+     */
+    private GraphNode<L> existingNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        GraphNode<L> node = labels.get(label);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Il nodo con etichetta " + label + " non esiste");
+        }
+        return node;
+    }
+
+    private void removeNodeAt(int index)
+    {
+        GraphNode<L> node = nodes.get(index);
+        for (GraphNode<L> neighbour : adjacency.get(index).keySet())     //tolgo l'arco anche dalla lista del vicino
+        {
+            if (!neighbour.equals(node))
+            {
+                adjacency.get(nodesIndex.get(neighbour)).remove(node);
+            }
+            edges--;
+        }
+        nodes.remove(index);
+        adjacency.remove(index);
+        nodesIndex.remove(node);
+        labels.remove(node.getLabel());
+        for (int j = index; j < nodes.size(); j++)      //decremento gli indici dei nodi successivi
+        {
+            nodesIndex.put(nodes.get(j), j);
+        }
+    }
+}
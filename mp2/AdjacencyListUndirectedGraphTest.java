@@ -0,0 +1,41 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe AdjacencyListUndirectedGraph. Gli scenari comuni
+ * ai grafi non orientati sono ereditati da UndirectedGraphTest.
+ * 
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class AdjacencyListUndirectedGraphTest extends UndirectedGraphTest {
+
+    @Override
+    Graph<String> newGraph() {
+        return new AdjacencyListUndirectedGraph<String>();
+    }
+
+    @Test
+    final void testRemoveNodeRemovesEdges() {
+        AdjacencyListUndirectedGraph<String> g = new AdjacencyListUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("b", "b");
+        g.addEdge("a", "c");
+        assertTrue(g.edgeCount() == 4);
+        g.removeNode("b");
+        assertTrue(g.edgeCount() == 1);
+        assertTrue(g.getDegreeOf("a") == 1);
+        assertTrue(g.getDegreeOf(1) == 1);
+        assertTrue(g.adjacency.size() == 2);
+        assertTrue(g.getNode(1).getLabel().equals("c"));
+        assertTrue(g.getNodeIndexOf(new GraphNode<String>("c")) == 1);
+        assertTrue(g.getEdges().size() == 1);
+    }
+
+}
@@ -0,0 +1,599 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che implementa un grafo orientato tramite matrice di adiacenza. Non
+ * sono accettate etichette dei nodi null e non sono accettate etichette
+ * duplicate nei nodi (che in quel caso sono lo stesso nodo).
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1 seguendo l'ordine del loro
+ * inserimento e la matrice, sempre quadrata, ha dimensione nodeCount() *
+ * nodeCount(). La posizione i,j della matrice è null se non esiste un arco dal
+ * nodo i al nodo j, altrimenti contiene l'oggetto GraphEdge<L> che lo
+ * rappresenta. A differenza del caso non orientato la matrice non è simmetrica.
+ *
+ * Oltre alla matrice, che permette di trovare un arco in tempo costante, per
+ * ogni nodo sono mantenuti l'insieme degli archi uscenti (la riga) e quello
+ * degli archi entranti (la colonna). In questo modo le interrogazioni sugli
+ * archi entranti e sui predecessori costano O(grado entrante) invece di
+ * richiedere la scansione di un'intera colonna della matrice.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class AdjacencyMatrixDirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione indice -> nodo
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione etichetta -> nodo
+     */
+    protected Map<L, GraphNode<L>> labels;
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice nella
+     * matrice di adiacenza
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Matrice di adiacenza, la posizione i,j contiene l'arco dal nodo i al nodo
+     * j oppure null
+     */
+    protected ArrayList<ArrayList<GraphEdge<L>>> matrix;
+
+    /*
+     * Archi uscenti e archi entranti di ogni nodo
+     */
+    protected ArrayList<Set<GraphEdge<L>>> outgoing;
+
+    protected ArrayList<Set<GraphEdge<L>>> ingoing;
+
+    private int edges;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public AdjacencyMatrixDirectedGraph()
+    {
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.labels = new HashMap<L, GraphNode<L>>();
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.matrix = new ArrayList<ArrayList<GraphEdge<L>>>();
+        this.outgoing = new ArrayList<Set<GraphEdge<L>>>();
+        this.ingoing = new ArrayList<Set<GraphEdge<L>>>();
+        this.edges = 0;
+    }
+
+    @Override
+    public int nodeCount()
+    {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount()
+    {
+        return edges;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.nodes.clear();
+        this.labels.clear();
+        this.nodesIndex.clear();
+        this.matrix.clear();
+        this.outgoing.clear();
+        this.ingoing.clear();
+        this.edges = 0;
+    }
+
+    @Override
+    public boolean isDirected()
+    {
+        return true;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (nodesIndex.containsKey(node))           //controllo se il nodo è già presente
+        {
+            return false;
+        }
+        nodesIndex.put(node, nodes.size());
+        labels.put(node.getLabel(), node);
+        nodes.add(node);
+        for (ArrayList<GraphEdge<L>> row : matrix)      //aggiungo la colonna del nuovo nodo
+        {
+            row.add(null);
+        }
+        ArrayList<GraphEdge<L>> row = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            row.add(null);
+        }
+        matrix.add(row);
+        outgoing.add(new HashSet<GraphEdge<L>>());
+        ingoing.add(new HashSet<GraphEdge<L>>());
+        return true;
+    }
+
+    @Override
+    public boolean addNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo
+     */
+    @Override
+    public void removeNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
+        }
+        removeNodeAt(index);
+    }
+
+    @Override
+    public void removeNode(L label)
+    {
+        removeNodeAt(nodesIndex.get(existingNode(label)));
+    }
+
+    @Override
+    public void removeNode(int i)
+    {
+        checkIndex(i);
+        removeNodeAt(i);
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return labels.get(label);
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i)
+    {
+        checkIndex(i);
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label)
+    {
+        return nodesIndex.get(existingNode(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes()
+    {
+        return Collections.unmodifiableSet(nodesIndex.keySet());
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (!edge.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo è orientato");
+        }
+        Integer source = nodesIndex.get(edge.getNode1());
+        Integer target = nodesIndex.get(edge.getNode2());
+        if (source == null || target == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non esiste");
+        }
+        if (matrix.get(source).get(target) != null)     //esiste già un arco uguale
+        {
+            return false;
+        }
+        matrix.get(source).set(target, edge);
+        outgoing.get(source).add(edge);
+        ingoing.get(target).add(edge);
+        edges++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdge(new GraphEdge<>(node1, node2, true));
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdge(new GraphEdge<>(node1, node2, true, weight));
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2)
+    {
+        return addEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight)
+    {
+        return addWeightedEdge(existingNode(label1), existingNode(label2), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j)
+    {
+        return addEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight)
+    {
+        return addWeightedEdge(getNode(i), getNode(j), weight);
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (!edge.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        removeEdge(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node1 == null || node2 == null)
+        {
+            throw new NullPointerException("ERRORE! Uno dei due nodi è nullo");
+        }
+        Integer source = nodesIndex.get(node1);
+        Integer target = nodesIndex.get(node2);
+        if (source == null || target == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non è contenuto");
+        }
+        GraphEdge<L> edge = matrix.get(source).get(target);
+        if (edge == null)
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        matrix.get(source).set(target, null);
+        outgoing.get(source).remove(edge);
+        ingoing.get(target).remove(edge);
+        edges--;
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2)
+    {
+        removeEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public void removeEdge(int i, int j)
+    {
+        removeEdge(getNode(i), getNode(j));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        GraphEdge<L> found = getEdge(edge.getNode1(), edge.getNode2());
+        return edge.isDirected() ? found : null;    //un arco non orientato non è uguale a nessun arco di questo grafo
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due nodi è nullo");
+        }
+        Integer source = nodesIndex.get(node1);
+        Integer target = nodesIndex.get(node2);
+        if (source == null || target == null)
+        {
+            throw new IllegalArgumentException("ERRORE! I nodi non esistono");
+        }
+        return matrix.get(source).get(target);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2)
+    {
+        return getEdge(existingNode(label1), existingNode(label2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        return matrix.get(i).get(j);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node)
+    {
+        return successors(getNodeIndexOf(node));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label)
+    {
+        return successors(getNodeIndexOf(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i)
+    {
+        checkIndex(i);
+        return successors(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node)
+    {
+        return predecessors(getNodeIndexOf(node));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label)
+    {
+        return predecessors(getNodeIndexOf(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i)
+    {
+        checkIndex(i);
+        return predecessors(i);
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(outgoing.get(getNodeIndexOf(node)));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label)
+    {
+        return new HashSet<>(outgoing.get(getNodeIndexOf(label)));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(outgoing.get(i));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node)
+    {
+        return new HashSet<>(ingoing.get(getNodeIndexOf(node)));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label)
+    {
+        return new HashSet<>(ingoing.get(getNodeIndexOf(label)));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i)
+    {
+        checkIndex(i);
+        return new HashSet<>(ingoing.get(i));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges()
+    {
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (Set<GraphEdge<L>> row : outgoing)
+        {
+            result.addAll(row);
+        }
+        return result;
+    }
+
+    /*
+     * Il grado è la somma delle dimensioni dei due insiemi del nodo, senza
+     * copiarli.
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node)
+    {
+        int i = getNodeIndexOf(node);
+        return outgoing.get(i).size() + ingoing.get(i).size();
+    }
+
+    @Override
+    public int getDegreeOf(L label)
+    {
+        int i = getNodeIndexOf(label);
+        return outgoing.get(i).size() + ingoing.get(i).size();
+    }
+
+    @Override
+    public int getDegreeOf(int i)
+    {
+        checkIndex(i);
+        return outgoing.get(i).size() + ingoing.get(i).size();
+    }
+
+    private void checkIndex(int i)
+    {
+        if (i < 0 || i >= nodes.size())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+
+    /*
+     * Restituisce il nodo con l'etichetta data, controllando che l'etichetta
+     * non sia null e che il nodo esista.
+     */
+    private GraphNode<L> existingNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        GraphNode<L> node = labels.get(label);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Il nodo con etichetta " + label + " non esiste");
+        }
+        return node;
+    }
+
+    private Set<GraphNode<L>> successors(int i)
+    {
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (GraphEdge<L> edge : outgoing.get(i))
+        {
+            result.add(edge.getNode2());
+        }
+        return result;
+    }
+
+    private Set<GraphNode<L>> predecessors(int i)
+    {
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (GraphEdge<L> edge : ingoing.get(i))
+        {
+            result.add(edge.getNode1());
+        }
+        return result;
+    }
+
+    private void removeNodeAt(int index)
+    {
+        GraphNode<L> node = nodes.get(index);
+        for (GraphEdge<L> edge : outgoing.get(index))       //tolgo gli archi uscenti dagli insiemi dei successori
+        {
+            ingoing.get(nodesIndex.get(edge.getNode2())).remove(edge);
+            edges--;
+        }
+        for (GraphEdge<L> edge : ingoing.get(index))        //tolgo gli archi entranti dagli insiemi dei predecessori
+        {
+            outgoing.get(nodesIndex.get(edge.getNode1())).remove(edge);
+            edges--;
+        }
+        matrix.remove(index);       //rimuovo la riga e la colonna del nodo
+        for (ArrayList<GraphEdge<L>> row : matrix)
+        {
+            row.remove(index);
+        }
+        nodes.remove(index);
+        outgoing.remove(index);
+        ingoing.remove(index);
+        nodesIndex.remove(node);
+        labels.remove(node.getLabel());
+        for (int j = index; j < nodes.size(); j++)      //decremento gli indici dei nodi successivi
+        {
+            nodesIndex.put(nodes.get(j), j);
+        }
+    }
+}
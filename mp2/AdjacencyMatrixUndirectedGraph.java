@@ -37,6 +37,21 @@ import java.util.HashMap;
  * supporta tutti i metodi che usano indici, utilizzando l'indice assegnato a
  * ogni nodo in fase di inserimento.
  *
+ * Oltre alla cancellazione standard, che ricompatta subito gli indici, è
+ * disponibile una cancellazione "con lapide" ({@code removeNodeKeepingIds}):
+ * la riga e la colonna del nodo vengono svuotate in O(n) ma restano nella
+ * matrice come posizione morta. Le posizioni morte vengono eliminate tutte
+ * insieme da {@code compact()} con una sola passata O(n^2), chiamata
+ * esplicitamente, dalla cancellazione standard oppure automaticamente quando
+ * la frazione di posizioni morte supera la soglia scelta nel costruttore.
+ *
+ * Ogni nodo riceve inoltre un identificativo stabile ({@code getNodeId}),
+ * separato dalla sua posizione nella matrice: non cambia finché il nodo resta
+ * nel grafo, qualunque altro metodo venga chiamato, compattazioni comprese.
+ * I metodi che usano gli indici densi [0, nodeCount() - 1] non compattano la
+ * matrice: in presenza di posizioni morte usano una tabella indice ->
+ * posizione ricostruita in O(n) solo dopo una modifica dei nodi.
+ *
  * @author Luca Tesei (template) DAVUD, SUFA davud.sufa@studenti.unicam.it (implementazione)
  *
  *
@@ -56,6 +71,12 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
     protected Map<GraphNode<L>, Integer> nodesIndex;
 
+    /*
+     * Associazione etichetta -> nodo, mantenuta consistente con nodesIndex per
+     * rendere O(1) tutti i metodi che ricevono etichette
+     */
+    protected Map<L, GraphNode<L>> labels;
+
     /*
      * Matrice di adiacenza, gli elementi sono null o oggetti della classe
      * GraphEdge<L>. L'uso di ArrayList permette alla matrice di aumentare di
@@ -64,12 +85,79 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
      */
     protected ArrayList<ArrayList<GraphEdge<L>>> matrix;
 
+    /*
+     * Associazione posizione della matrice -> nodo, null nelle posizioni
+     * morte. Senza posizioni morte la posizione coincide con l'indice del nodo.
+     */
+    protected ArrayList<GraphNode<L>> slots;
+
+    /*
+     * Associazioni nodo -> identificativo stabile e identificativo stabile ->
+     * nodo. Gli identificativi sono assegnati in ordine di inserimento, non
+     * vengono riusati e non dipendono dalla posizione nella matrice.
+     */
+    protected Map<GraphNode<L>, Integer> nodeIds;
+
+    protected Map<Integer, GraphNode<L>> nodesById;
+
+    /*
+     * Prossimo identificativo stabile da assegnare
+     */
+    private int nextId;
+
+    /*
+     * Numero di posizioni morte presenti nella matrice
+     */
+    private int deadSlots;
+
+    /*
+     * Tabelle indice denso -> posizione e posizione -> indice denso, usate
+     * solo in presenza di posizioni morte; null se vanno ricostruite
+     */
+    private int[] indexToSlot;
+
+    private int[] slotToIndex;
+
+    /*
+     * Frazione di posizioni morte oltre la quale la matrice viene compattata
+     * automaticamente
+     */
+    private final double compactionThreshold;
+
     /**
      * Crea un grafo vuoto.
      */
     public AdjacencyMatrixUndirectedGraph() {
+        this(0.5);
+    }
+
+    /**
+     * Crea un grafo vuoto che compatta automaticamente la matrice quando la
+     * frazione di posizioni morte lasciate da {@code removeNodeKeepingIds}
+     * supera una soglia data.
+     *
+     * @param compactionThreshold
+     *                                la frazione di posizioni morte, in
+     *                                (0, 1], oltre la quale avviene la
+     *                                compattazione automatica; con 1 la
+     *                                compattazione avviene solo su richiesta
+     * @throws IllegalArgumentException
+     *                                      se la soglia non è in (0, 1]
+     */
+    public AdjacencyMatrixUndirectedGraph(double compactionThreshold) {
+        if (!(compactionThreshold > 0 && compactionThreshold <= 1))
+        {
+            throw new IllegalArgumentException("ERRORE! La soglia deve essere in (0, 1]");
+        }
         this.matrix = new ArrayList<ArrayList<GraphEdge<L>>>();
         this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.labels = new HashMap<L, GraphNode<L>>();
+        this.slots = new ArrayList<GraphNode<L>>();
+        this.nodeIds = new HashMap<GraphNode<L>, Integer>();
+        this.nodesById = new HashMap<Integer, GraphNode<L>>();
+        this.nextId = 0;
+        this.deadSlots = 0;
+        this.compactionThreshold = compactionThreshold;
     }
 
     @Override
@@ -90,6 +178,13 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         this.arc.clear();
         this.matrix.clear();
         this.nodesIndex.clear();
+        this.labels.clear();
+        this.slots.clear();
+        this.nodeIds.clear();
+        this.nodesById.clear();
+        this.nextId = 0;
+        this.deadSlots = 0;
+        this.indexToSlot = null;
     }
 
     @Override
@@ -114,15 +209,20 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         return false;
     }
 
-    int newIndex = nodesIndex.size();           //salvo l'indice 'newIndex'
+    int newIndex = slots.size();           //salvo l'indice 'newIndex', dopo eventuali posizioni morte
         nodesIndex.put(node, newIndex);
+        labels.put(node.getLabel(), node);
+        slots.add(node);
+        nodeIds.put(node, nextId);
+        nodesById.put(nextId++, node);
+        indexToSlot = null;
         for (int i = 0; i < matrix.size(); i++)
         {
         matrix.get(i).add(null);
          }
     ArrayList<GraphEdge<L>> list = new ArrayList<>();
 
-        for (int i = 0; i < nodesIndex.size(); i++)         //Scorro la mappa tramite un for e aggiungo null alla lista
+        for (int i = 0; i < slots.size(); i++)         //Scorro le posizioni tramite un for e aggiungo null alla lista
         {
         list.add(null);
          }
@@ -161,20 +261,8 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         {
             throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
         }
-        int index = nodesIndex.get(node);
-        nodesIndex.remove(node);
-
-        for (Map.Entry<GraphNode<L>, Integer> entry : nodesIndex.entrySet())
-        {
-            if (entry.getValue() > index) {
-                nodesIndex.put(entry.getKey(), entry.getValue() - 1);
-            }
-        }
-        matrix.remove(index);       //rimuovo la row del nodo
-
-        for (ArrayList<GraphEdge<L>> row : matrix) {    //elimino la colonna del nodo rimosso
-            row.remove(index);
-        }
+        tombstone(node);
+        compact();          //una sola passata ricompatta righe, colonne e indici
     }
 
     /*
@@ -210,6 +298,236 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         removeNode(node);
     }
 
+    /**
+     * Rimuove un nodo da questo grafo lasciando al suo posto una posizione
+     * morta, senza modificare l'identificativo degli altri nodi. Tutti gli
+     * archi collegati al nodo vengono eliminati scorrendo una sola riga della
+     * matrice, quindi in O(n) invece di O(n^2). Se la frazione di posizioni
+     * morte supera la soglia di compattazione la matrice viene compattata.
+     *
+     * @param node
+     *                 il nodo da rimuovere
+     * @throws NullPointerException
+     *                                      se il nodo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo passato non esiste in
+     *                                      questo grafo
+     */
+    public void removeNodeKeepingIds(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (!nodesIndex.containsKey(node))
+        {
+            throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
+        }
+        tombstone(node);
+        if (deadSlots > compactionThreshold * slots.size())
+        {
+            compact();
+        }
+    }
+
+    /**
+     * Restituisce l'identificativo stabile di un nodo, assegnato al suo
+     * inserimento. A differenza dell'indice restituito da
+     * {@code getNodeIndexOf} e della posizione nella matrice, l'identificativo
+     * non cambia finché il nodo resta nel grafo: nessuna cancellazione di
+     * altri nodi, compattazione o lettura lo modifica. Viene invalidato solo
+     * dalla rimozione del nodo stesso e da {@code clear()}; gli identificativi
+     * dei nodi rimossi non vengono riassegnati.
+     *
+     * @param node
+     *                 il nodo di cui restituire l'identificativo
+     * @return l'identificativo stabile del nodo
+     * @throws NullPointerException
+     *                                      se il nodo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il nodo passato non esiste in
+     *                                      questo grafo
+     */
+    public int getNodeId(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer id = nodeIds.get(node);
+        if (id == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return id;
+    }
+
+    /**
+     * Restituisce il nodo che ha un certo identificativo stabile.
+     *
+     * @param id
+     *               l'identificativo stabile
+     * @return il nodo con l'identificativo dato, null se il nodo è stato
+     *         rimosso
+     * @throws IndexOutOfBoundsException
+     *                                       se l'identificativo non è mai
+     *                                       stato assegnato
+     */
+    public GraphNode<L> getNodeById(int id)
+    {
+        if (id < 0 || id >= nextId)
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'identificativo è fuori dai limiti");
+        }
+        return nodesById.get(id);
+    }
+
+    /**
+     * Restituisce il numero di posizioni morte attualmente presenti nella
+     * matrice.
+     *
+     * @return il numero di posizioni morte
+     */
+    public int deadSlotCount()
+    {
+        return deadSlots;
+    }
+
+    /**
+     * Elimina dalla matrice tutte le posizioni morte con una sola passata
+     * O(n^2). Cambiano solo le posizioni interne: gli indici densi e gli
+     * identificativi stabili dei nodi restano gli stessi.
+     */
+    public void compact()
+    {
+        if (deadSlots == 0)
+        {
+            return;
+        }
+        ArrayList<Integer> alive = new ArrayList<>(nodesIndex.size());
+        for (int i = 0; i < slots.size(); i++)
+        {
+            if (slots.get(i) != null)
+            {
+                alive.add(i);
+            }
+        }
+        ArrayList<ArrayList<GraphEdge<L>>> newMatrix = new ArrayList<>(alive.size());
+        ArrayList<GraphNode<L>> newSlots = new ArrayList<>(alive.size());
+        for (int i = 0; i < alive.size(); i++)
+        {
+            ArrayList<GraphEdge<L>> oldRow = matrix.get(alive.get(i));
+            ArrayList<GraphEdge<L>> row = new ArrayList<>(alive.size());
+            for (int j = 0; j < alive.size(); j++)
+            {
+                row.add(oldRow.get(alive.get(j)));
+            }
+            newMatrix.add(row);
+            GraphNode<L> node = slots.get(alive.get(i));
+            newSlots.add(node);
+            nodesIndex.put(node, i);
+        }
+        matrix = newMatrix;
+        slots = newSlots;
+        deadSlots = 0;
+        indexToSlot = null;
+    }
+
+    /*
+     * Svuota la riga e la colonna del nodo togliendo i suoi archi e segna la
+     * sua posizione come morta.
+     */
+    private void tombstone(GraphNode<L> node)
+    {
+        int index = nodesIndex.remove(node);
+        labels.remove(node.getLabel());
+        nodesById.remove(nodeIds.remove(node));
+        ArrayList<GraphEdge<L>> row = matrix.get(index);
+        for (int j = 0; j < row.size(); j++)
+        {
+            GraphEdge<L> edge = row.get(j);
+            if (edge != null)
+            {
+                arc.remove(edge);
+                row.set(j, null);
+                matrix.get(j).set(index, null);
+            }
+        }
+        slots.set(index, null);
+        deadSlots++;
+        indexToSlot = null;
+    }
+
+    /*
+     * Restituisce la posizione nella matrice del nodo con indice denso i.
+     */
+    private int slotOf(int i)
+    {
+        if (deadSlots == 0)
+        {
+            return i;
+        }
+        buildIndexTables();
+        return indexToSlot[i];
+    }
+
+    /*
+     * Restituisce l'indice denso del nodo nella posizione slot.
+     */
+    private int indexOfSlot(int slot)
+    {
+        if (deadSlots == 0)
+        {
+            return slot;
+        }
+        buildIndexTables();
+        return slotToIndex[slot];
+    }
+
+    /*
+     * Ricostruisce in O(n), se serve, le tabelle tra indici densi e posizioni
+     * saltando le posizioni morte, senza toccare la matrice.
+     */
+    private void buildIndexTables()
+    {
+        if (indexToSlot != null)
+        {
+            return;
+        }
+        indexToSlot = new int[nodesIndex.size()];
+        slotToIndex = new int[slots.size()];
+        int index = 0;
+        for (int slot = 0; slot < slots.size(); slot++)
+        {
+            if (slots.get(slot) != null)
+            {
+                indexToSlot[index] = slot;
+                slotToIndex[slot] = index++;
+            }
+            else
+            {
+                slotToIndex[slot] = -1;
+            }
+        }
+    }
+
+    /*
+     * Restituisce la posizione nella matrice di un nodo del grafo.
+     */
+    private int slotOf(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer slot = nodesIndex.get(node);
+        if (slot == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return slot;
+    }
+
     @Override
     public GraphNode<L> getNode(GraphNode<L> node)
     {
@@ -227,13 +545,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         {
             throw new NullPointerException("ERRORE! Non sono ammessi valori null");
         }
-        for (GraphNode<L> node : nodesIndex.keySet())
-        {
-            if (node.getLabel().equals(label)) {        //se label è uguale ritorna il nodo
-                return node;
-            }
-        }
-        return null;
+        return labels.get(label);       //null se nessun nodo ha questa etichetta
     }
 
     @Override
@@ -242,14 +554,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         if ( i > this.nodeCount() - 1 || i < 0 ) {
             throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
         }
-        for (Map.Entry<GraphNode<L>, Integer> entry : nodesIndex.entrySet())
-        {
-            if (entry.getValue().equals(i))
-            {
-                return entry.getKey();          //Se 'entry' è uguale a 'i' ritorna la chiave di 'i'
-            }
-        }
-        return null;
+        return slots.get(slotOf(i));      //le posizioni morte vengono saltate senza compattare
     }
 
     @Override
@@ -263,7 +568,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         {
             throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
         }
-        return nodesIndex.getOrDefault(node, -1);
+        return indexOfSlot(nodesIndex.get(node));
     }
 
     @Override
@@ -397,13 +702,14 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
 
         int index1 = nodesIndex.get(nodo1);
         int index2 = nodesIndex.get(nodo2);
-        if (!arc.contains(edge))
+        GraphEdge<L> stored = matrix.get(index1).get(index2);      //l'arco si trova direttamente nella cella della matrice
+        if (stored == null || !stored.equals(edge))
         {
             throw new IllegalArgumentException("ERRORE! L'arco non esiste");
         }
         matrix.get(index1).set(index2, null);
         matrix.get(index2).set(index1, null);
-        arc.remove(edge);
+        arc.remove(stored);
     }
 
     @Override
@@ -473,23 +779,24 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     @Override
     public GraphEdge<L> getEdge(int i, int j)
     {
-        GraphNode<L> Node1 = this.getNode(i);
-        GraphNode<L> Node2 = this.getNode(j);
-        return this.getEdge(Node1, Node2);
-
+        if (i < 0 || i >= nodeCount() || j < 0 || j >= nodeCount())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+        return matrix.get(slotOf(i)).get(slotOf(j));       //la cella si trova traducendo gli indici in posizioni
     }
 
     @Override
     public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node)
     {
-        int flag = this.getNodeIndexOf(node);   //assegno node al flag
+        int flag = slotOf(node);   //assegno a flag la posizione di node
         Set<GraphNode<L>> Set = new HashSet<>();
         ArrayList<GraphEdge<L>> Arcs = matrix.get(flag);        //creo un arraylist di flag
         for (int i = 0; i < Arcs.size(); i++)
         {
             if (Arcs.get(i) != null)
             {
-                Set.add(this.getNode(i));
+                Set.add(slots.get(i));      //le posizioni morte hanno la colonna vuota
             }
         }
         return Set;
@@ -532,7 +839,7 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
     @Override
     public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node)
     {
-        int index = this.getNodeIndexOf(node);
+        int index = slotOf(node);
         Set<GraphEdge<L>> Set = new HashSet<>();        //creo un set
         ArrayList<GraphEdge<L>> Arcs = matrix.get(index);   //creo un array list 'Arcs'
         for (int i = 0; i < Arcs.size(); i++)
@@ -595,18 +902,16 @@ public class AdjacencyMatrixUndirectedGraph<L> extends Graph<L> {
         {
             throw new NullPointerException("ERRORE! Non sono ammessi valori null");
         }
-        GraphNode<L> node1 = edge.getNode1();
-        GraphNode<L> node2 = edge.getNode2();
-        if (!nodesIndex.containsKey(node1) || !nodesIndex.containsKey(node2))   //controllo se effettivamente esistono i nodi
+        Integer index1 = nodesIndex.get(edge.getNode1());
+        Integer index2 = nodesIndex.get(edge.getNode2());
+        if (index1 == null || index2 == null)   //controllo se effettivamente esistono i nodi
         {
             throw new IllegalArgumentException("ERRORE! I nodi non esistono");
         }
-        for (GraphEdge<L> Arc : arc)
+        GraphEdge<L> Arc = matrix.get(index1).get(index2);     //la cella index1,index2 contiene l'unico arco che può essere uguale
+        if (Arc != null && Arc.equals(edge))
         {
-            if (Arc.equals(edge))
-            {
-                return Arc;          //ritorno l'arco se equivale a quello precedente
-            }
+            return Arc;
         }
         return null;
     }
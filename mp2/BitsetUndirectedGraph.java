@@ -0,0 +1,789 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che implementa un grafo non orientato tramite una matrice di
+ * adiacenza di bit, adatta a grafi densi. Non sono accettate etichette dei nodi
+ * null e non sono accettate etichette duplicate nei nodi (che in quel caso sono
+ * lo stesso nodo).
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1 seguendo l'ordine del loro
+ * inserimento e, quando un nodo viene cancellato, gli indici dei nodi
+ * successivi vengono decrementati di uno, come in
+ * {@code AdjacencyMatrixUndirectedGraph}.
+ *
+ * Ogni riga della matrice è un array di {@code long} in cui il bit j della riga
+ * i vale 1 se e solo se esiste l'arco tra il nodo i e il nodo j; la riga è
+ * simmetrica alla colonna corrispondente. Una cella occupa quindi un bit invece
+ * di un riferimento a un oggetto GraphEdge<L>. I pesi sono memorizzati in un
+ * array di {@code double} per riga, allocato solo quando viene inserito il
+ * primo arco pesato: finché il grafo è non pesato non occupano memoria.
+ *
+ * Gli oggetti GraphEdge<L> restituiti dai metodi di interrogazione sono creati
+ * al momento della richiesta: modificarne il peso non modifica il grafo.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class BitsetUndirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione indice -> nodo
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Associazione etichetta -> nodo
+     */
+    protected Map<L, GraphNode<L>> labels;
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * Righe della matrice di bit, ognuna lunga capacity / 64 parole
+     */
+    protected ArrayList<long[]> rows;
+
+    /*
+     * Pesi degli archi riga per riga (Double.NaN se l'arco non è pesato),
+     * oppure null se nessun arco pesato è mai stato inserito
+     */
+    protected ArrayList<double[]> weights;
+
+    /*
+     * Numero di colonne allocate in ogni riga, sempre multiplo di 64
+     */
+    private int capacity;
+
+    private int edges;
+
+    /**
+     * Crea un grafo vuoto.
+     */
+    public BitsetUndirectedGraph()
+    {
+        this.nodes = new ArrayList<GraphNode<L>>();
+        this.labels = new HashMap<L, GraphNode<L>>();
+        this.nodesIndex = new HashMap<GraphNode<L>, Integer>();
+        this.rows = new ArrayList<long[]>();
+        this.weights = null;
+        this.capacity = 64;
+        this.edges = 0;
+    }
+
+    @Override
+    public int nodeCount()
+    {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount()
+    {
+        return edges;
+    }
+
+    @Override
+    public void clear()
+    {
+        this.nodes.clear();
+        this.labels.clear();
+        this.nodesIndex.clear();
+        this.rows.clear();
+        this.weights = null;
+        this.capacity = 64;
+        this.edges = 0;
+    }
+
+    @Override
+    public boolean isDirected()
+    {
+        return false;
+    }
+
+    /*
+     * Gli indici dei nodi vanno assegnati nell'ordine di inserimento a partire
+     * da zero. Quando le righe sono piene la loro capacità viene raddoppiata.
+     */
+    @Override
+    public boolean addNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (nodesIndex.containsKey(node))           //controllo se il nodo è già presente
+        {
+            return false;
+        }
+        if (nodes.size() == capacity)
+        {
+            grow();
+        }
+        nodesIndex.put(node, nodes.size());
+        labels.put(node.getLabel(), node);
+        nodes.add(node);
+        rows.add(new long[capacity >>> 6]);
+        if (weights != null)
+        {
+            weights.add(newWeightRow());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return addNode(new GraphNode<>(label));
+    }
+
+    /*
+     * Gli indici dei nodi il cui valore sia maggiore dell'indice del nodo da
+     * cancellare devono essere decrementati di uno dopo la cancellazione del
+     * nodo: in ogni riga i bit successivi alla colonna cancellata vengono
+     * spostati di una posizione, una parola alla volta.
+     */
+    @Override
+    public void removeNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Non è presente il nodo");
+        }
+        removeNodeAt(index);
+    }
+
+    @Override
+    public void removeNode(L label)
+    {
+        removeNodeAt(nodesIndex.get(existingNode(label)));
+    }
+
+    @Override
+    public void removeNode(int i)
+    {
+        checkIndex(i);
+        removeNodeAt(i);
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return labels.get(label);
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i)
+    {
+        checkIndex(i);
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label)
+    {
+        return nodesIndex.get(existingNode(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes()
+    {
+        return Collections.unmodifiableSet(nodesIndex.keySet());
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (edge.isDirected())      //controllo se il grafo è orientato
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo non è orientato");
+        }
+        Integer index1 = nodesIndex.get(edge.getNode1());
+        Integer index2 = nodesIndex.get(edge.getNode2());
+        if (index1 == null || index2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non esiste");
+        }
+        return addEdgeAt(index1, index2, edge.getWeight());
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdgeAt(getNodeIndexOf(node1), getNodeIndexOf(node2), Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        return addEdgeAt(getNodeIndexOf(node1), getNodeIndexOf(node2), weight);
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2)
+    {
+        return addEdgeAt(getNodeIndexOf(existingNode(label1)),
+                getNodeIndexOf(existingNode(label2)), Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight)
+    {
+        return addEdgeAt(getNodeIndexOf(existingNode(label1)),
+                getNodeIndexOf(existingNode(label2)), weight);
+    }
+
+    @Override
+    public boolean addEdge(int i, int j)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        return addEdgeAt(i, j, Double.NaN);
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        return addEdgeAt(i, j, weight);
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (edge.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        removeEdge(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node1 == null || node2 == null)
+        {
+            throw new NullPointerException("ERRORE! Uno dei due nodi è nullo");
+        }
+        Integer index1 = nodesIndex.get(node1);
+        Integer index2 = nodesIndex.get(node2);
+        if (index1 == null || index2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Uno dei due nodi non è contenuto");
+        }
+        removeEdgeAt(index1, index2);
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2)
+    {
+        removeEdgeAt(getNodeIndexOf(existingNode(label1)),
+                getNodeIndexOf(existingNode(label2)));
+    }
+
+    @Override
+    public void removeEdge(int i, int j)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        removeEdgeAt(i, j);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        GraphEdge<L> found = getEdge(edge.getNode1(), edge.getNode2());
+        return edge.isDirected() ? null : found;    //un arco orientato non è uguale a nessun arco di questo grafo
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due nodi è nullo");
+        }
+        Integer index1 = nodesIndex.get(node1);
+        Integer index2 = nodesIndex.get(node2);
+        if (index1 == null || index2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! I nodi non esistono");
+        }
+        return edgeAt(index1, index2);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2)
+    {
+        return edgeAt(getNodeIndexOf(existingNode(label1)),
+                getNodeIndexOf(existingNode(label2)));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        return edgeAt(i, j);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node)
+    {
+        return adjacentNodes(getNodeIndexOf(node));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label)
+    {
+        return adjacentNodes(getNodeIndexOf(existingNode(label)));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i)
+    {
+        checkIndex(i);
+        return adjacentNodes(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node)
+    {
+        return edgesOf(getNodeIndexOf(node));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label)
+    {
+        return edgesOf(getNodeIndexOf(existingNode(label)));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i)
+    {
+        checkIndex(i);
+        return edgesOf(i);
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges()
+    {
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            long[] row = rows.get(i);
+            for (int w = i >>> 6; w < row.length; w++)     //solo la metà superiore della matrice, diagonale compresa
+            {
+                long word = row[w];
+                if (w == i >>> 6)
+                {
+                    word &= -1L << (i & 63);
+                }
+                while (word != 0)
+                {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                    result.add(newEdge(i, j));
+                    word &= word - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Il grado è il numero di bit a 1 nella riga del nodo.
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node)
+    {
+        return bitCount(rows.get(getNodeIndexOf(node)));
+    }
+
+    @Override
+    public int getDegreeOf(L label)
+    {
+        return bitCount(rows.get(getNodeIndexOf(existingNode(label))));
+    }
+
+    @Override
+    public int getDegreeOf(int i)
+    {
+        checkIndex(i);
+        return bitCount(rows.get(i));
+    }
+
+    /**
+     * Restituisce l'insieme dei nodi adiacenti sia a un nodo che a un altro.
+     * L'intersezione viene calcolata con un AND tra le due righe della
+     * matrice, 64 colonne alla volta.
+     *
+     * @param node1
+     *                  il primo nodo
+     * @param node2
+     *                  il secondo nodo
+     * @return l'insieme dei nodi adiacenti sia a node1 che a node2
+     * @throws NullPointerException
+     *                                      se almeno uno dei due nodi è null
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due nodi non
+     *                                      esiste in questo grafo
+     */
+    public Set<GraphNode<L>> getCommonNeighboursOf(GraphNode<L> node1,
+            GraphNode<L> node2)
+    {
+        long[] row1 = rows.get(getNodeIndexOf(node1));
+        long[] row2 = rows.get(getNodeIndexOf(node2));
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (int w = 0; w < row1.length; w++)
+        {
+            long word = row1[w] & row2[w];
+            while (word != 0)
+            {
+                result.add(nodes.get((w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Restituisce il numero di nodi adiacenti sia al nodo di indice i che al
+     * nodo di indice j, senza costruire l'insieme corrispondente.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return il numero di vicini comuni dei due nodi
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno degli indici è fuori
+     *                                       dai limiti dell'intervallo
+     *                                       <code>[0, this.nodeCount() - 1]</code>
+     */
+    public int countCommonNeighbours(int i, int j)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        long[] row1 = rows.get(i);
+        long[] row2 = rows.get(j);
+        int count = 0;
+        for (int w = 0; w < row1.length; w++)
+        {
+            count += Long.bitCount(row1[w] & row2[w]);
+        }
+        return count;
+    }
+
+    private void checkIndex(int i)
+    {
+        if (i < 0 || i >= nodes.size())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+
+    /*
+     * Restituisce il nodo con l'etichetta data, controllando che l'etichetta
+     * non sia null e che il nodo esista.
+     */
+    private GraphNode<L> existingNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non si accettano valori nulli");
+        }
+        GraphNode<L> node = labels.get(label);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Il nodo con etichetta " + label + " non esiste");
+        }
+        return node;
+    }
+
+    private boolean hasBit(int i, int j)
+    {
+        return (rows.get(i)[j >>> 6] & (1L << j)) != 0;     //lo shift di un long usa solo i 6 bit meno significativi
+    }
+
+    private boolean addEdgeAt(int i, int j, double weight)
+    {
+        if (hasBit(i, j))       //esiste già un arco uguale
+        {
+            return false;
+        }
+        rows.get(i)[j >>> 6] |= 1L << j;
+        rows.get(j)[i >>> 6] |= 1L << i;
+        if (!Double.isNaN(weight) && weights == null)       //primo arco pesato
+        {
+            weights = new ArrayList<double[]>(nodes.size());
+            for (int k = 0; k < nodes.size(); k++)
+            {
+                weights.add(newWeightRow());
+            }
+        }
+        if (weights != null)
+        {
+            weights.get(i)[j] = weight;
+            weights.get(j)[i] = weight;
+        }
+        edges++;
+        return true;
+    }
+
+    private void removeEdgeAt(int i, int j)
+    {
+        if (!hasBit(i, j))
+        {
+            throw new IllegalArgumentException("ERRORE! L'arco non esiste");
+        }
+        rows.get(i)[j >>> 6] &= ~(1L << j);
+        rows.get(j)[i >>> 6] &= ~(1L << i);
+        if (weights != null)
+        {
+            weights.get(i)[j] = Double.NaN;
+            weights.get(j)[i] = Double.NaN;
+        }
+        edges--;
+    }
+
+    private GraphEdge<L> edgeAt(int i, int j)
+    {
+        return hasBit(i, j) ? newEdge(i, j) : null;
+    }
+
+    private GraphEdge<L> newEdge(int i, int j)
+    {
+        double weight = weights == null ? Double.NaN : weights.get(i)[j];
+        return new GraphEdge<L>(nodes.get(i), nodes.get(j), false, weight);
+    }
+
+    private Set<GraphNode<L>> adjacentNodes(int i)
+    {
+        long[] row = rows.get(i);
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (int w = 0; w < row.length; w++)
+        {
+            long word = row[w];
+            while (word != 0)       //scorro solo i bit a 1 della parola
+            {
+                result.add(nodes.get((w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    private Set<GraphEdge<L>> edgesOf(int i)
+    {
+        long[] row = rows.get(i);
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int w = 0; w < row.length; w++)
+        {
+            long word = row[w];
+            while (word != 0)
+            {
+                result.add(newEdge(i, (w << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    private static int bitCount(long[] row)
+    {
+        int count = 0;
+        for (long word : row)
+        {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private double[] newWeightRow()
+    {
+        double[] row = new double[capacity];
+        Arrays.fill(row, Double.NaN);
+        return row;
+    }
+
+    private void grow()
+    {
+        int oldCapacity = capacity;
+        capacity = capacity << 1;
+        for (int i = 0; i < rows.size(); i++)
+        {
+            rows.set(i, Arrays.copyOf(rows.get(i), capacity >>> 6));
+        }
+        if (weights != null)
+        {
+            for (int i = 0; i < weights.size(); i++)
+            {
+                double[] row = Arrays.copyOf(weights.get(i), capacity);
+                Arrays.fill(row, oldCapacity, capacity, Double.NaN);
+                weights.set(i, row);
+            }
+        }
+    }
+
+    /*
+     * Toglie il bit in posizione index da una riga spostando di una posizione
+     * verso il basso tutti i bit successivi.
+     */
+    private static void removeBit(long[] row, int index)
+    {
+        int w = index >>> 6;
+        long low = (1L << index) - 1;       //bit della parola w che precedono index
+        row[w] = (row[w] & low) | ((row[w] >>> 1) & ~low);
+        for (int k = w + 1; k < row.length; k++)
+        {
+            row[k - 1] |= row[k] << 63;     //il bit più basso della parola successiva diventa il più alto
+            row[k] = row[k] >>> 1;
+        }
+    }
+
+    private void removeNodeAt(int index)
+    {
+        GraphNode<L> node = nodes.get(index);
+        edges -= bitCount(rows.get(index));     //un cappio occupa un solo bit ed è un solo arco
+        rows.remove(index);
+        if (weights != null)
+        {
+            weights.remove(index);
+        }
+        for (int i = 0; i < rows.size(); i++)
+        {
+            removeBit(rows.get(i), index);
+            if (weights != null)
+            {
+                double[] row = weights.get(i);
+                System.arraycopy(row, index + 1, row, index, capacity - index - 1);
+                row[capacity - 1] = Double.NaN;
+            }
+        }
+        nodes.remove(index);
+        nodesIndex.remove(node);
+        labels.remove(node.getLabel());
+        for (int j = index; j < nodes.size(); j++)      //decremento gli indici dei nodi successivi
+        {
+            nodesIndex.put(nodes.get(j), j);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe BitsetUndirectedGraph. Gli scenari comuni ai
+ * grafi non orientati sono ereditati da UndirectedGraphTest.
+ * 
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class BitsetUndirectedGraphTest extends UndirectedGraphTest {
+
+    @Override
+    Graph<String> newGraph() {
+        return new BitsetUndirectedGraph<String>();
+    }
+
+    @Test
+    final void testRowsGrowAndShift() {
+        BitsetUndirectedGraph<Integer> g = new BitsetUndirectedGraph<Integer>();
+        for (int i = 0; i < 150; i++)
+            g.addNode(i);
+        for (int i = 0; i < 149; i++)
+            g.addWeightedEdge(i, i + 1, i);
+        g.addEdge(70, 70);
+        assertEquals(150, g.edgeCount());
+        assertEquals(3, g.getDegreeOf(70));
+        g.removeNode(10);
+        assertEquals(148, g.edgeCount());
+        assertEquals(10, g.getNodeIndexOf(11));
+        assertTrue(g.getEdge(9, 10) == null);
+        assertTrue(g.getEdge(10, 11).getWeight() == 11);
+        assertTrue(g.getEdge(68, 69).getWeight() == 69);
+        assertTrue(g.getEdge(69, 69) != null);
+        assertTrue(g.getEdge(148, 147).getWeight() == 148);
+        assertEquals(148, g.getEdges().size());
+    }
+
+    @Test
+    final void testCommonNeighbours() {
+        BitsetUndirectedGraph<String> g = new BitsetUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addEdge("a", "c");
+        g.addEdge("a", "d");
+        g.addEdge("b", "c");
+        g.addEdge("b", "d");
+        g.addEdge("a", "b");
+        Set<GraphNode<String>> common = new HashSet<GraphNode<String>>();
+        common.add(new GraphNode<String>("c"));
+        common.add(new GraphNode<String>("d"));
+        assertTrue(g.getCommonNeighboursOf(g.getNode("a"), g.getNode("b"))
+                .equals(common));
+        assertEquals(2, g.countCommonNeighbours(0, 1));
+        assertEquals(2, g.countCommonNeighbours(2, 3));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> g.countCommonNeighbours(0, 4));
+    }
+
+}
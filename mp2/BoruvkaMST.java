@@ -0,0 +1,302 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Classe che implementa l'algoritmo di Borůvka per trovare un Minimum
+ * Spanning Tree di un grafo non orientato, pesato e con pesi non negativi,
+ * usando più thread.
+ *
+ * Ad ogni fase ogni componente sceglie l'arco più leggero che esce da essa; la
+ * ricerca è una passata fork-join sull'array degli archi in cui ogni thread
+ * aggiorna con compare-and-set il migliore arco di ciascuna componente. Gli
+ * archi scelti vengono poi uniti in parallelo con un
+ * {@code ConcurrentDisjointSets}. La stessa passata di ricerca scarta gli
+ * archi diventati interni a una componente, che vengono tolti dall'array con
+ * una compattazione parallela a somme prefisse; anche il reset dei migliori
+ * archi avviene durante la contrazione, così nessuna passata di una fase è
+ * sequenziale. Le fasi sono al più log2(n).
+ *
+ * Gli archi sono confrontati per peso e, a parità di peso, per posizione
+ * nell'insieme restituito da {@code getEdges()}. Questo ordine totale evita i
+ * cicli e rende il risultato deterministico; con pesi tutti distinti il
+ * risultato è lo stesso di {@code KruskalMST}.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class BoruvkaMST<L> {
+
+    /*
+     * Sotto questo numero di elementi una passata viene eseguita da un solo
+     * thread
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Costruisce un calcolatore che usa il pool fork-join comune.
+     */
+    public BoruvkaMST()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Costruisce un calcolatore che esegue le passate parallele nel pool
+     * dato.
+     *
+     * @param pool
+     *                 il pool in cui eseguire le passate
+     * @throws NullPointerException
+     *                                  se il pool passato è null
+     */
+    public BoruvkaMST(ForkJoinPool pool)
+    {
+        if (pool == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Trova un albero (o una foresta) di copertura minimo in un grafo non
+     * orientato e pesato, con pesi degli archi non negativi.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     *         copertura minimo trovato
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g)
+    {
+        if (g == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (g.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo non dev'essere orientato");
+        }
+        Map<GraphNode<L>, Integer> index = new HashMap<>();
+        for (GraphNode<L> node : g.getNodes())
+        {
+            index.put(node, index.size());
+        }
+        Set<GraphEdge<L>> graphEdges = g.getEdges();
+        List<GraphEdge<L>> edges = new ArrayList<>(graphEdges.size());
+        int[] from = new int[graphEdges.size()];
+        int[] to = new int[graphEdges.size()];
+        double[] weight = new double[graphEdges.size()];
+        for (GraphEdge<L> edge : graphEdges)        //unica passata di controllo dei pesi
+        {
+            if (!edge.hasWeight() || edge.getWeight() < 0)
+            {
+                throw new IllegalArgumentException("ERRORE! Almeno un arco non è pesato o è negativo");
+            }
+            int u = index.get(edge.getNode1());
+            int v = index.get(edge.getNode2());
+            if (u != v)         //i cappi non entrano mai nell'albero
+            {
+                from[edges.size()] = u;
+                to[edges.size()] = v;
+                weight[edges.size()] = edge.getWeight();
+                edges.add(edge);
+            }
+        }
+        int m = edges.size();
+
+        int n = index.size();
+        ConcurrentDisjointSets components = new ConcurrentDisjointSets(n);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        parallelFor(n, r -> cheapest.set(r, -1));
+        boolean[] inTree = new boolean[m];
+        boolean[] alive = new boolean[m];
+        int[] active = new int[m];          //archi che possono ancora collegare due componenti
+        int[] next = new int[m];
+        for (int e = 0; e < m; e++)
+        {
+            active[e] = e;
+        }
+        int activeCount = m;
+
+        while (true)
+        {
+            int[] current = active;
+            parallelFor(activeCount, i -> {         //ogni componente cerca il suo arco uscente più leggero
+                int e = current[i];
+                int r1 = components.findSet(from[e]);
+                int r2 = components.findSet(to[e]);
+                alive[i] = r1 != r2;                //gli archi interni a una componente vengono scartati
+                if (alive[i])
+                {
+                    offer(cheapest, r1, e, weight);
+                    offer(cheapest, r2, e, weight);
+                }
+            });
+            activeCount = compact(active, activeCount, alive, next);
+            int[] t = active;           //scambio gli array invece di copiarli
+            active = next;
+            next = t;
+            if (activeCount == 0)
+            {
+                break;
+            }
+            parallelFor(n, r -> {                   //contrazione: la union riesce una sola volta per ogni arco scelto
+                int e = cheapest.getAndSet(r, -1);  //e prepara la fase successiva
+                if (e >= 0 && components.union(from[e], to[e]))
+                {
+                    inTree[e] = true;
+                }
+            });
+        }
+
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int e = 0; e < m; e++)
+        {
+            if (inTree[e])
+            {
+                result.add(edges.get(e));
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Propone l'arco e come migliore della componente r, sostituendo quello
+     * corrente solo se e viene prima nell'ordine (peso, posizione).
+     */
+    private static void offer(AtomicIntegerArray cheapest, int r, int e, double[] weight)
+    {
+        while (true)
+        {
+            int current = cheapest.get(r);
+            if (current >= 0 && (weight[current] < weight[e] || (weight[current] == weight[e] && current < e)))
+            {
+                return;
+            }
+            if (cheapest.compareAndSet(r, current, e))
+            {
+                return;
+            }
+        }
+    }
+
+    /*
+     * Copia in next, mantenendo l'ordine, gli elementi di active[0..count)
+     * con alive a true e ne restituisce il numero. I blocchi contano i propri
+     * elementi in parallelo, una somma prefissa sui blocchi dà la posizione di
+     * partenza di ciascuno e infine i blocchi copiano in parallelo.
+     */
+    private int compact(int[] active, int count, boolean[] alive, int[] next)
+    {
+        int blocks = (count + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD;
+        int[] offset = new int[blocks + 1];
+        parallelFor(blocks, 1, b -> {
+            int kept = 0;
+            for (int i = b * SEQUENTIAL_THRESHOLD, end = Math.min(i + SEQUENTIAL_THRESHOLD, count); i < end; i++)
+            {
+                if (alive[i])
+                {
+                    kept++;
+                }
+            }
+            offset[b + 1] = kept;
+        });
+        for (int b = 0; b < blocks; b++)
+        {
+            offset[b + 1] += offset[b];
+        }
+        parallelFor(blocks, 1, b -> {
+            int position = offset[b];
+            for (int i = b * SEQUENTIAL_THRESHOLD, end = Math.min(i + SEQUENTIAL_THRESHOLD, count); i < end; i++)
+            {
+                if (alive[i])
+                {
+                    next[position++] = active[i];
+                }
+            }
+        });
+        return offset[blocks];
+    }
+
+    private void parallelFor(int n, IntConsumer body)
+    {
+        parallelFor(n, SEQUENTIAL_THRESHOLD, body);
+    }
+
+    /*
+     * Esegue body per ogni indice in [0, n), dividendo l'intervallo in parti
+     * di al più grain indici.
+     */
+    private void parallelFor(int n, int grain, IntConsumer body)
+    {
+        if (n <= grain)
+        {
+            for (int i = 0; i < n; i++)
+            {
+                body.accept(i);
+            }
+            return;
+        }
+        pool.invoke(new RangeTask(0, n, grain, body));
+    }
+
+    /*
+     * Divide l'intervallo [lo, hi) a metà finché non diventa abbastanza
+     * piccolo da essere eseguito direttamente.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+
+        private final int hi;
+
+        private final int grain;
+
+        private final IntConsumer body;
+
+        private RangeTask(int lo, int hi, int grain, IntConsumer body)
+        {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (hi - lo <= grain)
+            {
+                for (int i = lo; i < hi; i++)
+                {
+                    body.accept(i);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(lo, mid, grain, body), new RangeTask(mid, hi, grain, body));
+        }
+    }
+}
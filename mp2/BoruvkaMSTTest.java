@@ -0,0 +1,64 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static it.unicam.cs.asdl2324.mp2.MSTTestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe BoruvkaMST.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class BoruvkaMSTTest {
+
+    @Test
+    final void testSameTreeAsKruskalWithDistinctWeights() {
+        // 200 nodi al 30%: circa 6000 archi, oltre la soglia sequenziale
+        for (long seed = 1; seed <= 3; seed++) {
+            Graph<Integer> gr = randomGraph(
+                    new AdjacencyListUndirectedGraph<Integer>(), 200, 30, true,
+                    seed);
+            assertEquals(new KruskalMST<Integer>().computeMSP(gr),
+                    new BoruvkaMST<Integer>().computeMSP(gr));
+        }
+        Graph<Integer> sparse = randomGraph(
+                new AdjacencyListUndirectedGraph<Integer>(), 60, 2, true, 4);
+        assertEquals(new KruskalMST<Integer>().computeMSP(sparse),
+                new BoruvkaMST<Integer>().computeMSP(sparse));
+    }
+
+    @Test
+    final void testDeterministicWithEqualWeights() {
+        Graph<Integer> gr = randomGraph(
+                new AdjacencyListUndirectedGraph<Integer>(), 150, 40, false, 5);
+        gr.addWeightedEdge(3, 3, 0);
+        Set<GraphEdge<Integer>> first = new BoruvkaMST<Integer>()
+                .computeMSP(gr);
+        assertEquals(first, new BoruvkaMST<Integer>().computeMSP(gr));
+        Set<GraphEdge<Integer>> kruskal = new KruskalMST<Integer>()
+                .computeMSP(gr);
+        assertEquals(kruskal.size(), first.size());
+        assertEquals(totalWeight(kruskal), totalWeight(first), 1e-9);
+    }
+
+    @Test
+    final void testExceptions() {
+        BoruvkaMST<String> alg = new BoruvkaMST<String>();
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        assertThrows(NullPointerException.class,
+                () -> new BoruvkaMST<String>(null));
+        Graph<String> directed = new AdjacencyListDirectedGraph<String>();
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(directed));
+        Graph<String> gr = new AdjacencyListUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addEdge("a", "b");
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(gr));
+        assertTrue(alg.computeMSP(new AdjacencyListUndirectedGraph<String>())
+                .isEmpty());
+    }
+}
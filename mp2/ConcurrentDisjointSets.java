@@ -0,0 +1,189 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Implementazione di una collezione di insiemi disgiunti degli interi da 0 a
+ * n - 1 che può essere usata contemporaneamente da più thread senza lock.
+ *
+ * Il parent di ogni elemento è conservato in un {@code AtomicIntegerArray} e
+ * viene modificato solo con compare-and-set. L'unione collega sempre la
+ * radice con indice minore sotto quella con indice maggiore: l'ordine sugli
+ * indici impedisce la formazione di cicli anche quando più unioni sono in
+ * corso nello stesso momento. La ricerca usa il dimezzamento del cammino: un
+ * compare-and-set fallito significa solo che un altro thread ha già
+ * accorciato il cammino, quindi {@code findSet} non ripete mai un passo ed è
+ * wait-free.
+ *
+ * Senza rango la profondità degli alberi non è limitata a log(n) nel caso
+ * peggiore, ma con il dimezzamento del cammino il costo ammortizzato resta
+ * O(log n) per operazione.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public class ConcurrentDisjointSets {
+
+    /*
+     * Parent di ogni elemento; una radice ha parent uguale a se stessa. La
+     * variabile è protected unicamente per permettere i test JUnit.
+     */
+    protected final AtomicIntegerArray parent;
+
+    private final AtomicInteger components;
+
+    /**
+     * Costruisce n insiemi singoletto, uno per ogni elemento da 0 a n - 1.
+     *
+     * @param n
+     *              il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public ConcurrentDisjointSets(int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! Il numero di elementi non può essere negativo");
+        }
+        this.parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++)
+        {
+            parent.set(i, i);
+        }
+        this.components = new AtomicInteger(n);
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     *
+     * @return il numero di elementi
+     */
+    public int size()
+    {
+        return parent.length();
+    }
+
+    /**
+     * Restituisce il rappresentante corrente dell'insieme di cui fa parte
+     * l'elemento, dimezzando il cammino. Se ci sono unioni concorrenti il
+     * rappresentante restituito può non essere più una radice al momento del
+     * ritorno.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return il rappresentante dell'insieme di e
+     * @throws IndexOutOfBoundsException
+     *                                       se e non è compreso tra 0 e
+     *                                       size() - 1
+     */
+    public int findSet(int e)
+    {
+        checkIndex(e);
+        int p = parent.get(e);
+        while (p != e)
+        {
+            int gp = parent.get(p);
+            if (gp != p)
+            {
+                parent.compareAndSet(e, p, gp);     //se fallisce qualcun altro ha già accorciato il cammino
+            }
+            e = gp;
+            p = parent.get(e);
+        }
+        return e;
+    }
+
+    /**
+     * Determina se i due elementi fanno parte dello stesso insieme. Il
+     * risultato è linearizzabile: se è false esiste un istante durante la
+     * chiamata in cui i due elementi erano in insiemi diversi.
+     *
+     * @param e1
+     *               il primo elemento
+     * @param e2
+     *               il secondo elemento
+     * @return true se i due elementi sono nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi
+     *                                       non è compreso tra 0 e size() - 1
+     */
+    public boolean sameSet(int e1, int e2)
+    {
+        checkIndex(e1);
+        checkIndex(e2);
+        while (true)
+        {
+            e1 = findSet(e1);
+            e2 = findSet(e2);
+            if (e1 == e2)
+            {
+                return true;
+            }
+            if (parent.get(e1) == e1)           //e1 è ancora una radice, quindi gli insiemi erano distinti
+            {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Unisce gli insiemi di cui fanno parte i due elementi passati.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @return true se questa chiamata ha unito due insiemi distinti, false se
+     *         gli elementi erano già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi
+     *                                       non è compreso tra 0 e size() - 1
+     */
+    public boolean union(int e1, int e2)
+    {
+        checkIndex(e1);
+        checkIndex(e2);
+        while (true)
+        {
+            int first = findSet(e1);
+            int second = findSet(e2);
+            if (first == second)
+            {
+                return false;
+            }
+            if (first > second)         //collego sempre la radice con indice minore
+            {
+                int tmp = first;
+                first = second;
+                second = tmp;
+            }
+            if (parent.compareAndSet(first, first, second))     //riesce solo se 'first' è ancora una radice
+            {
+                components.decrementAndGet();
+                return true;
+            }
+            e1 = first;
+            e2 = second;
+        }
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount()
+    {
+        return components.get();
+    }
+
+    private void checkIndex(int e)
+    {
+        if (e < 0 || e >= parent.length())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+}
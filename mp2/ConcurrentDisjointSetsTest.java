@@ -0,0 +1,56 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe ConcurrentDisjointSets.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class ConcurrentDisjointSetsTest {
+
+    @Test
+    final void testUnionAndSameSet() {
+        ConcurrentDisjointSets ds = new ConcurrentDisjointSets(6);
+        assertEquals(6, ds.componentCount());
+        assertTrue(ds.union(0, 1));
+        assertEquals(1, ds.parent.get(0));
+        assertTrue(ds.union(3, 2));
+        assertEquals(3, ds.parent.get(2));
+        assertTrue(ds.union(1, 2));
+        assertFalse(ds.union(0, 3));
+        assertTrue(ds.sameSet(0, 3));
+        assertFalse(ds.sameSet(0, 4));
+        assertEquals(3, ds.findSet(0));
+        assertEquals(3, ds.componentCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(0, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentDisjointSets(-1));
+    }
+
+    @Test
+    final void testConcurrentUnions() throws InterruptedException {
+        int n = 100000;
+        int threads = 4;
+        ConcurrentDisjointSets ds = new ConcurrentDisjointSets(n);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                // ogni thread unisce un sottoinsieme degli archi della catena
+                for (int i = offset; i < n - 1; i += threads)
+                    ds.union(i, i + 1);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+        assertEquals(1, ds.componentCount());
+        int root = ds.findSet(0);
+        for (int i = 0; i < n; i++)
+            assertEquals(root, ds.findSet(i));
+    }
+}
@@ -0,0 +1,657 @@
+/**
+ *
+ */
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che implementa un grafo non orientato e non modificabile tramite la
+ * rappresentazione Compressed Sparse Row (CSR). È pensata per grafi molto
+ * grandi e sparsi, per i quali una matrice di adiacenza richiederebbe
+ * nodeCount() * nodeCount() posizioni.
+ *
+ * I nodi sono indicizzati da 0 a nodeCount() - 1. Gli archi sono memorizzati
+ * in tre array di tipo primitivo: {@code offsets}, {@code neighbors} e
+ * {@code weights}. I vicini del nodo di indice i sono gli elementi di
+ * {@code neighbors} nelle posizioni da {@code offsets[i]} (incluso) a
+ * {@code offsets[i + 1]} (escluso), ordinati per indice crescente; il peso
+ * dell'arco corrispondente si trova nella stessa posizione di {@code weights}
+ * (Double.NaN se l'arco non è pesato). Ogni arco {i, j} con i diverso da j è
+ * quindi memorizzato due volte, una nella riga di i e una nella riga di j,
+ * mentre un cappio è memorizzato una sola volta.
+ *
+ * Gli oggetti GraphEdge<L> restituiti dai metodi di interrogazione sono creati
+ * al momento della richiesta: modificarne il peso non modifica il grafo.
+ *
+ * Il grafo viene costruito una volta sola, a partire da un altro grafo o da
+ * una lista di archi espressa tramite indici, e non supporta nessuna
+ * operazione di inserimento o cancellazione di nodi e archi.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ *
+ */
+public class CsrUndirectedGraph<L> extends Graph<L> {
+
+    /*
+     * Le seguenti variabili istanza sono protected al solo scopo di agevolare
+     * il JUnit testing
+     */
+
+    /*
+     * Associazione indice -> nodo
+     */
+    protected ArrayList<GraphNode<L>> nodes;
+
+    /*
+     * Insieme dei nodi e associazione di ogni nodo con il proprio indice
+     */
+    protected Map<GraphNode<L>, Integer> nodesIndex;
+
+    /*
+     * offsets[i] è la posizione in neighbors del primo vicino del nodo i,
+     * offsets[nodeCount()] è il numero totale di semiarchi memorizzati
+     */
+    protected int[] offsets;
+
+    /*
+     * Indici dei nodi adiacenti, riga per riga
+     */
+    protected int[] neighbors;
+
+    /*
+     * Pesi degli archi, nella stessa posizione del vicino corrispondente
+     */
+    protected double[] weights;
+
+    private int edges;
+
+    /**
+     * Costruisce un grafo CSR con gli stessi nodi e gli stessi archi (con gli
+     * stessi pesi) di un grafo non orientato dato. Gli indici dei nodi seguono
+     * l'ordine di iterazione di {@code g.getNodes()}.
+     *
+     * @param g
+     *              il grafo da copiare
+     * @throws NullPointerException
+     *                                      se il grafo passato è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo passato è orientato
+     */
+    public CsrUndirectedGraph(Graph<L> g)
+    {
+        if (g == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (g.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo non dev'essere orientato");
+        }
+        List<GraphNode<L>> list = new ArrayList<>(g.getNodes());
+        Map<GraphNode<L>, Integer> index = new HashMap<>();
+        for (int i = 0; i < list.size(); i++)
+        {
+            index.put(list.get(i), i);
+        }
+        Set<GraphEdge<L>> edgeSet = g.getEdges();
+        int[] src = new int[edgeSet.size()];
+        int[] dst = new int[edgeSet.size()];
+        double[] w = new double[edgeSet.size()];
+        int k = 0;
+        for (GraphEdge<L> edge : edgeSet)
+        {
+            src[k] = index.get(edge.getNode1());
+            dst[k] = index.get(edge.getNode2());
+            w[k] = edge.getWeight();
+            k++;
+        }
+        build(list, src, dst, w);
+    }
+
+    /**
+     * Costruisce un grafo CSR a partire da una lista di nodi e da una lista di
+     * archi espressa tramite gli indici dei nodi nella lista. L'arco k collega
+     * i nodi di indice {@code src[k]} e {@code dst[k]} e ha peso
+     * {@code weights[k]}.
+     *
+     * @param nodes
+     *                    i nodi del grafo; l'indice di ogni nodo è la sua
+     *                    posizione nella lista
+     * @param src
+     *                    gli indici del primo nodo di ogni arco
+     * @param dst
+     *                    gli indici del secondo nodo di ogni arco
+     * @param weights
+     *                    i pesi degli archi (Double.NaN per un arco non
+     *                    pesato), oppure null se nessun arco è pesato
+     * @throws NullPointerException
+     *                                       se nodes, src, dst o uno dei nodi
+     *                                       è null
+     * @throws IllegalArgumentException
+     *                                       se gli array hanno lunghezze
+     *                                       diverse, se un nodo è ripetuto o
+     *                                       se un arco è ripetuto
+     * @throws IndexOutOfBoundsException
+     *                                       se un indice non corrisponde a
+     *                                       nessun nodo
+     */
+    public CsrUndirectedGraph(List<GraphNode<L>> nodes, int[] src, int[] dst,
+            double[] weights)
+    {
+        if (nodes == null || src == null || dst == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (src.length != dst.length || (weights != null && weights.length != src.length))
+        {
+            throw new IllegalArgumentException("ERRORE! Gli array degli archi hanno lunghezze diverse");
+        }
+        if (weights == null)
+        {
+            weights = new double[src.length];
+            Arrays.fill(weights, Double.NaN);
+        }
+        build(nodes, src, dst, weights);
+    }
+
+    /*
+     * Costruisce gli array CSR in tempo O(n + m) con due passate di counting
+     * sort: la prima raggruppa i semiarchi per nodo destinazione, la seconda
+     * (stabile) li distribuisce nelle righe dei nodi sorgente, che risultano
+     * così già ordinate per indice del vicino.
+     */
+    private void build(List<GraphNode<L>> list, int[] src, int[] dst,
+            double[] w)
+    {
+        int n = list.size();
+        this.nodes = new ArrayList<>(list);
+        this.nodesIndex = new HashMap<>();
+        for (int i = 0; i < n; i++)
+        {
+            GraphNode<L> node = list.get(i);
+            if (node == null)
+            {
+                throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+            }
+            if (nodesIndex.put(node, i) != null)
+            {
+                throw new IllegalArgumentException("ERRORE! Il nodo " + node + " è ripetuto");
+            }
+        }
+        int m = src.length;
+        this.offsets = new int[n + 1];
+        for (int k = 0; k < m; k++)
+        {
+            if (src[k] < 0 || src[k] >= n || dst[k] < 0 || dst[k] >= n)
+            {
+                throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+            }
+            offsets[src[k] + 1]++;
+            if (src[k] != dst[k])
+            {
+                offsets[dst[k] + 1]++;      //il cappio occupa un solo posto
+            }
+        }
+        for (int i = 0; i < n; i++)
+        {
+            offsets[i + 1] += offsets[i];
+        }
+        int half = offsets[n];
+
+        // in un grafo non orientato ogni nodo è destinazione di tanti semiarchi
+        // quanti ne ha come sorgente, quindi gli offsets valgono per entrambe
+        // le passate
+        int[] bySource = new int[half];
+        double[] byWeight = new double[half];
+        int[] pos = Arrays.copyOf(offsets, n);
+        for (int k = 0; k < m; k++)
+        {
+            bySource[pos[dst[k]]] = src[k];
+            byWeight[pos[dst[k]]++] = w[k];
+            if (src[k] != dst[k])
+            {
+                bySource[pos[src[k]]] = dst[k];
+                byWeight[pos[src[k]]++] = w[k];
+            }
+        }
+
+        this.neighbors = new int[half];
+        this.weights = new double[half];
+        pos = Arrays.copyOf(offsets, n);
+        for (int t = 0; t < n; t++)
+        {
+            for (int k = offsets[t]; k < offsets[t + 1]; k++)
+            {
+                int s = bySource[k];
+                neighbors[pos[s]] = t;
+                weights[pos[s]++] = byWeight[k];
+            }
+        }
+
+        for (int i = 0; i < n; i++)         //le righe sono ordinate, i duplicati sono adiacenti
+        {
+            for (int k = offsets[i] + 1; k < offsets[i + 1]; k++)
+            {
+                if (neighbors[k] == neighbors[k - 1])
+                {
+                    throw new IllegalArgumentException("ERRORE! L'arco tra " + list.get(i)
+                            + " e " + list.get(neighbors[k]) + " è ripetuto");
+                }
+            }
+        }
+        this.edges = m;
+    }
+
+    @Override
+    public int nodeCount()
+    {
+        return nodes.size();
+    }
+
+    @Override
+    public int edgeCount()
+    {
+        return edges;
+    }
+
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean isDirected()
+    {
+        return false;
+    }
+
+    @Override
+    public boolean addNode(GraphNode<L> node)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addNode(L label)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeNode(GraphNode<L> node)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeNode(L label)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeNode(int i)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public GraphNode<L> getNode(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        return index == null ? null : nodes.get(index);
+    }
+
+    @Override
+    public GraphNode<L> getNode(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return getNode(new GraphNode<L>(label));    //i nodi sono uguali se hanno la stessa etichetta
+    }
+
+    @Override
+    public GraphNode<L> getNode(int i)
+    {
+        checkIndex(i);
+        return nodes.get(i);
+    }
+
+    @Override
+    public int getNodeIndexOf(GraphNode<L> node)
+    {
+        if (node == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Integer index = nodesIndex.get(node);
+        if (index == null)
+        {
+            throw new IllegalArgumentException("ERRORE! 'node' non è contenuto");
+        }
+        return index;
+    }
+
+    @Override
+    public int getNodeIndexOf(L label)
+    {
+        if (label == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return getNodeIndexOf(new GraphNode<L>(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getNodes()
+    {
+        return Collections.unmodifiableSet(nodesIndex.keySet());
+    }
+
+    @Override
+    public boolean addEdge(GraphEdge<L> edge)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addWeightedEdge(GraphNode<L> node1, GraphNode<L> node2,
+            double weight)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addEdge(L label1, L label2)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addWeightedEdge(L label1, L label2, double weight)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addEdge(int i, int j)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public boolean addWeightedEdge(int i, int j, double weight)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeEdge(GraphEdge<L> edge)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeEdge(L label1, L label2)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public void removeEdge(int i, int j)
+    {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo CSR non modificabile");
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphEdge<L> edge)
+    {
+        if (edge == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (edge.isDirected())
+        {
+            return null;        //nessun arco orientato è uguale a un arco di questo grafo
+        }
+        return getEdge(edge.getNode1(), edge.getNode2());
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(GraphNode<L> node1, GraphNode<L> node2)
+    {
+        if (node2 == null || node1 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due nodi è nullo");
+        }
+        Integer index1 = nodesIndex.get(node1);
+        Integer index2 = nodesIndex.get(node2);
+        if (index1 == null || index2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! I nodi non esistono");
+        }
+        return edgeAt(index1, index2);
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(L label1, L label2)
+    {
+        if (label2 == null || label1 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due label è nullo");
+        }
+        return getEdge(new GraphNode<L>(label1), new GraphNode<L>(label2));
+    }
+
+    @Override
+    public GraphEdge<L> getEdge(int i, int j)
+    {
+        checkIndex(i);
+        checkIndex(j);
+        return edgeAt(i, j);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(GraphNode<L> node)
+    {
+        return adjacentNodes(getNodeIndexOf(node));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(L label)
+    {
+        return adjacentNodes(getNodeIndexOf(label));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getAdjacentNodesOf(int i)
+    {
+        checkIndex(i);
+        return adjacentNodes(i);
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphNode<L>> getPredecessorNodesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(GraphNode<L> node)
+    {
+        return edgesOf(getNodeIndexOf(node));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(L label)
+    {
+        return edgesOf(getNodeIndexOf(label));
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdgesOf(int i)
+    {
+        checkIndex(i);
+        return edgesOf(i);
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(GraphNode<L> node) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(L label) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getIngoingEdgesOf(int i) {
+        throw new UnsupportedOperationException(
+                "Operazione non supportata in un grafo non orientato");
+    }
+
+    @Override
+    public Set<GraphEdge<L>> getEdges()
+    {
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++)
+            {
+                if (neighbors[k] >= i)      //ogni arco viene preso solo dalla riga del nodo con indice minore
+                {
+                    result.add(new GraphEdge<L>(nodes.get(i), nodes.get(neighbors[k]), false, weights[k]));
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Il grado è la lunghezza della riga del nodo, calcolata in tempo costante
+     * senza costruire l'insieme degli archi.
+     */
+    @Override
+    public int getDegreeOf(GraphNode<L> node)
+    {
+        int i = getNodeIndexOf(node);
+        return offsets[i + 1] - offsets[i];
+    }
+
+    @Override
+    public int getDegreeOf(L label)
+    {
+        int i = getNodeIndexOf(label);
+        return offsets[i + 1] - offsets[i];
+    }
+
+    @Override
+    public int getDegreeOf(int i)
+    {
+        checkIndex(i);
+        return offsets[i + 1] - offsets[i];
+    }
+
+    private void checkIndex(int i)
+    {
+        if (i < 0 || i >= nodes.size())
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+
+    /*
+     * Ricerca binaria del vicino j nella riga (ordinata) del nodo i.
+     */
+    private GraphEdge<L> edgeAt(int i, int j)
+    {
+        int k = Arrays.binarySearch(neighbors, offsets[i], offsets[i + 1], j);
+        if (k < 0)
+        {
+            return null;
+        }
+        return new GraphEdge<L>(nodes.get(i), nodes.get(j), false, weights[k]);
+    }
+
+    private Set<GraphNode<L>> adjacentNodes(int i)
+    {
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (int k = offsets[i]; k < offsets[i + 1]; k++)
+        {
+            result.add(nodes.get(neighbors[k]));
+        }
+        return result;
+    }
+
+    private Set<GraphEdge<L>> edgesOf(int i)
+    {
+        Set<GraphEdge<L>> result = new HashSet<>();
+        for (int k = offsets[i]; k < offsets[i + 1]; k++)
+        {
+            result.add(new GraphEdge<L>(nodes.get(i), nodes.get(neighbors[k]), false, weights[k]));
+        }
+        return result;
+    }
+}
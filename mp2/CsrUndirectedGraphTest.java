@@ -0,0 +1,159 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe CsrUndirectedGraph.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class CsrUndirectedGraphTest {
+
+    private static CsrUndirectedGraph<String> buildSample() {
+        List<GraphNode<String>> nodes = new ArrayList<GraphNode<String>>();
+        nodes.add(new GraphNode<String>("a"));
+        nodes.add(new GraphNode<String>("b"));
+        nodes.add(new GraphNode<String>("c"));
+        nodes.add(new GraphNode<String>("d"));
+        int[] src = { 0, 2, 1, 0, 3 };
+        int[] dst = { 1, 1, 3, 0, 2 };
+        double[] w = { 4, 8, 2.5, 1, 6 };
+        return new CsrUndirectedGraph<String>(nodes, src, dst, w);
+    }
+
+    @Test
+    final void testCsrUndirectedGraph() {
+        CsrUndirectedGraph<String> g = buildSample();
+        assertEquals(4, g.nodeCount());
+        assertEquals(5, g.edgeCount());
+        assertFalse(g.isDirected());
+        // le righe sono ordinate per indice del vicino
+        for (int i = 0; i < g.nodeCount(); i++)
+            for (int k = g.offsets[i] + 1; k < g.offsets[i + 1]; k++)
+                assertTrue(g.neighbors[k - 1] < g.neighbors[k]);
+        List<GraphNode<String>> nodes = new ArrayList<GraphNode<String>>();
+        nodes.add(new GraphNode<String>("a"));
+        nodes.add(new GraphNode<String>("b"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsrUndirectedGraph<String>(nodes, new int[] { 0, 1 },
+                        new int[] { 1, 0 }, null));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> new CsrUndirectedGraph<String>(nodes, new int[] { 0 },
+                        new int[] { 2 }, null));
+        assertThrows(NullPointerException.class,
+                () -> new CsrUndirectedGraph<String>((Graph<String>) null));
+    }
+
+    @Test
+    final void testCopyOfGraph() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("s");
+        gr.addNode("u");
+        gr.addNode("x");
+        gr.addWeightedEdge("s", "u", 10.1);
+        gr.addWeightedEdge("s", "x", 5.12);
+        gr.addEdge("x", "x");
+        CsrUndirectedGraph<String> g = new CsrUndirectedGraph<String>(gr);
+        assertEquals(gr.nodeCount(), g.nodeCount());
+        assertEquals(gr.edgeCount(), g.edgeCount());
+        assertTrue(g.getNodes().equals(gr.getNodes()));
+        assertTrue(g.getEdges().equals(gr.getEdges()));
+        assertTrue(g.getEdge("u", "s").getWeight() == 10.1);
+        assertFalse(g.getEdge("x", "x").hasWeight());
+        assertEquals(2, g.getDegreeOf("s"));
+        assertEquals(2, g.getDegreeOf("x"));
+    }
+
+    @Test
+    final void testGetNode() {
+        CsrUndirectedGraph<String> g = buildSample();
+        assertThrows(NullPointerException.class,
+                () -> g.getNode((GraphNode<String>) null));
+        assertThrows(NullPointerException.class,
+                () -> g.getNode((String) null));
+        assertTrue(g.getNode("c").equals(new GraphNode<String>("c")));
+        assertTrue(g.getNode("e") == null);
+        assertTrue(g.getNode(new GraphNode<String>("e")) == null);
+        assertTrue(g.getNode(2).getLabel().equals("c"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getNode(4));
+        assertEquals(3, g.getNodeIndexOf("d"));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getNodeIndexOf("e"));
+    }
+
+    @Test
+    final void testGetEdge() {
+        CsrUndirectedGraph<String> g = buildSample();
+        assertTrue(g.getEdge("a", "b").getWeight() == 4);
+        assertTrue(g.getEdge("b", "a").getWeight() == 4);
+        assertTrue(g.getEdge(3, 1).getWeight() == 2.5);
+        assertTrue(g.getEdge("a", "a").getWeight() == 1);
+        assertTrue(g.getEdge("a", "c") == null);
+        assertTrue(g.getEdge(new GraphEdge<String>(new GraphNode<String>("c"),
+                new GraphNode<String>("d"), false)).getWeight() == 6);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getEdge("a", "e"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getEdge(0, 7));
+    }
+
+    @Test
+    final void testGetAdjacentNodesAndEdgesOf() {
+        CsrUndirectedGraph<String> g = buildSample();
+        GraphNode<String> a = new GraphNode<String>("a");
+        GraphNode<String> b = new GraphNode<String>("b");
+        GraphNode<String> c = new GraphNode<String>("c");
+        GraphNode<String> d = new GraphNode<String>("d");
+        Set<GraphNode<String>> adj = new HashSet<GraphNode<String>>();
+        adj.add(a);
+        adj.add(c);
+        adj.add(d);
+        assertTrue(g.getAdjacentNodesOf("b").equals(adj));
+        assertTrue(g.getAdjacentNodesOf(1).equals(adj));
+        Set<GraphEdge<String>> edges = new HashSet<GraphEdge<String>>();
+        edges.add(new GraphEdge<String>(a, b, false));
+        edges.add(new GraphEdge<String>(a, a, false));
+        assertTrue(g.getEdgesOf(a).equals(edges));
+        assertEquals(2, g.getDegreeOf(a));
+        assertEquals(3, g.getDegreeOf(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getEdgesOf("e"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.getIngoingEdgesOf(a));
+    }
+
+    @Test
+    final void testUnsupportedModifications() {
+        CsrUndirectedGraph<String> g = buildSample();
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.addNode("e"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.addEdge("a", "c"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> g.removeNode(0));
+        assertThrows(UnsupportedOperationException.class, () -> g.clear());
+    }
+
+    @Test
+    final void testKruskalOnCsr() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addNode("c");
+        gr.addNode("d");
+        gr.addWeightedEdge("a", "b", 1);
+        gr.addWeightedEdge("b", "c", 2);
+        gr.addWeightedEdge("a", "c", 3);
+        gr.addWeightedEdge("c", "d", 1);
+        KruskalMST<String> alg = new KruskalMST<String>();
+        assertTrue(alg.computeMSP(new CsrUndirectedGraph<String>(gr))
+                .equals(alg.computeMSP(gr)));
+    }
+
+}
@@ -0,0 +1,144 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Scenari comuni ai test dei grafi orientati. Ogni sottoclasse fornisce con
+ * {@code newGraph()} un grafo vuoto dell'implementazione da provare.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+abstract class DirectedGraphTest {
+
+    /*
+     * Crea un grafo vuoto dell'implementazione da provare
+     */
+    abstract Graph<String> newGraph();
+
+    private Graph<String> buildSample() {
+        Graph<String> g = newGraph();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addEdge("a", "b");
+        g.addEdge("b", "a");
+        g.addEdge("a", "c");
+        g.addEdge("c", "c");
+        g.addWeightedEdge("d", "c", 3.5);
+        return g;
+    }
+
+    @Test
+    final void testIsDirected() {
+        Graph<String> g = newGraph();
+        assertTrue(g.isDirected());
+        assertTrue(g.isEmpty());
+    }
+
+    @Test
+    final void testAddEdge() {
+        Graph<String> g = buildSample();
+        assertEquals(5, g.edgeCount());
+        assertFalse(g.addEdge("a", "b"));
+        assertEquals(5, g.edgeCount());
+        GraphNode<String> na = new GraphNode<String>("a");
+        GraphNode<String> nd = new GraphNode<String>("d");
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(na, nd, false)));
+        assertThrows(IllegalArgumentException.class,
+                () -> g.addEdge(new GraphEdge<String>(na,
+                        new GraphNode<String>("e"), true)));
+        assertThrows(NullPointerException.class,
+                () -> g.addEdge((GraphEdge<String>) null));
+        assertTrue(g.addEdge(new GraphEdge<String>(na, nd, true)));
+        assertEquals(6, g.edgeCount());
+    }
+
+    @Test
+    final void testGetEdge() {
+        Graph<String> g = buildSample();
+        assertTrue(g.getEdge("a", "c") != null);
+        assertTrue(g.getEdge("c", "a") == null);
+        assertTrue(g.getEdge("d", "c").getWeight() == 3.5);
+        assertTrue(g.getEdge(3, 2).getWeight() == 3.5);
+        assertTrue(g.getEdge(2, 3) == null);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getEdge("a", "e"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.getEdge(0, 4));
+    }
+
+    @Test
+    final void testPredecessorsAndIngoingEdges() {
+        Graph<String> g = buildSample();
+        GraphNode<String> na = new GraphNode<String>("a");
+        GraphNode<String> nb = new GraphNode<String>("b");
+        GraphNode<String> nc = new GraphNode<String>("c");
+        GraphNode<String> nd = new GraphNode<String>("d");
+        Set<GraphNode<String>> pred = new HashSet<GraphNode<String>>();
+        pred.add(na);
+        pred.add(nc);
+        pred.add(nd);
+        assertTrue(g.getPredecessorNodesOf("c").equals(pred));
+        assertTrue(g.getPredecessorNodesOf(2).equals(pred));
+        Set<GraphEdge<String>> in = new HashSet<GraphEdge<String>>();
+        in.add(new GraphEdge<String>(na, nc, true));
+        in.add(new GraphEdge<String>(nc, nc, true));
+        in.add(new GraphEdge<String>(nd, nc, true));
+        assertTrue(g.getIngoingEdgesOf(nc).equals(in));
+        Set<GraphNode<String>> succ = new HashSet<GraphNode<String>>();
+        succ.add(nb);
+        succ.add(nc);
+        assertTrue(g.getAdjacentNodesOf("a").equals(succ));
+        assertTrue(g.getIngoingEdgesOf("d").isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> g.getPredecessorNodesOf("e"));
+        assertThrows(NullPointerException.class,
+                () -> g.getIngoingEdgesOf((GraphNode<String>) null));
+    }
+
+    @Test
+    final void testGetDegreeOf() {
+        Graph<String> g = buildSample();
+        assertEquals(3, g.getDegreeOf("a"));
+        assertEquals(2, g.getDegreeOf("b"));
+        assertEquals(4, g.getDegreeOf("c"));
+        assertEquals(1, g.getDegreeOf(3));
+    }
+
+    @Test
+    final void testRemoveEdge() {
+        Graph<String> g = buildSample();
+        g.removeEdge("a", "b");
+        assertEquals(4, g.edgeCount());
+        assertTrue(g.getEdge("a", "b") == null);
+        assertTrue(g.getEdge("b", "a") != null);
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeEdge("a", "b"));
+        assertEquals(1, g.getDegreeOf("b"));
+    }
+
+    @Test
+    final void testRemoveNode() {
+        Graph<String> g = buildSample();
+        g.removeNode("c");
+        assertEquals(3, g.nodeCount());
+        assertEquals(2, g.edgeCount());
+        assertEquals(2, g.getNodeIndexOf("d"));
+        assertTrue(g.getEdgesOf("d").isEmpty());
+        assertEquals(2, g.getDegreeOf("a"));
+        g.removeNode(0);
+        assertEquals(0, g.edgeCount());
+        assertEquals(0, g.getNodeIndexOf("b"));
+        assertTrue(g.getPredecessorNodesOf("b").isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> g.removeNode("a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> g.removeNode(2));
+    }
+
+}
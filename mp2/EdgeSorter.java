@@ -0,0 +1,282 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ordinamento degli archi di un grafo per peso crescente, usato da
+ * {@code KruskalMST}. Gli archi devono essere tutti pesati con pesi non
+ * negativi: il controllo viene fatto una volta sola, mentre si estraggono i
+ * pesi in un array di tipo primitivo.
+ *
+ * Le strategie disponibili sono:
+ * <ul>
+ * <li>{@code INTROSORT}: quicksort con pivot mediano di tre e partizione a tre
+ * vie sull'array dei pesi, che passa a heapsort se la ricorsione diventa
+ * troppo profonda e a insertion sort sui segmenti corti. Costa O(E log E) nel
+ * caso peggiore anche con archi già ordinati o con molti pesi uguali.</li>
+ * <li>{@code RADIX}: radix sort LSD sui bit IEEE-754 dei pesi, che per valori
+ * non negativi hanno lo stesso ordine dei valori. Costa O(E) con al più 8
+ * passate da 8 bit e salta le passate in cui tutti i pesi hanno la stessa
+ * cifra; conviene con molti archi e pesi a pochi valori distinti.</li>
+ * <li>{@code PARALLEL}: {@code Arrays.parallelSort} sugli archi, che conviene
+ * per grandi quantità di archi su macchine con più core.</li>
+ * <li>{@code AUTO}: {@code PARALLEL} dai {@value #PARALLEL_THRESHOLD} archi in
+ * su se ci sono più processori, {@code INTROSORT} altrimenti.</li>
+ * </ul>
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public final class EdgeSorter {
+
+    /**
+     * Le strategie di ordinamento disponibili.
+     */
+    public enum Strategy {
+        AUTO, INTROSORT, RADIX, PARALLEL
+    }
+
+    /**
+     * Numero di archi da cui la strategia {@code AUTO} usa l'ordinamento
+     * parallelo.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /*
+     * Sotto questa lunghezza introsort usa insertion sort
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private EdgeSorter()
+    {
+    }
+
+    /**
+     * Restituisce gli archi ordinati per peso crescente. L'ordine degli archi
+     * con lo stesso peso dipende dalla strategia.
+     *
+     * @param <L>
+     *                     tipo delle etichette dei nodi
+     * @param edges
+     *                     gli archi da ordinare
+     * @param strategy
+     *                     la strategia di ordinamento
+     * @return una nuova lista con gli archi ordinati
+     * @throws NullPointerException
+     *                                      se almeno uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se almeno un arco non è pesato o ha
+     *                                      peso negativo
+     */
+    public static <L> List<GraphEdge<L>> sortByWeight(Collection<GraphEdge<L>> edges, Strategy strategy)
+    {
+        if (edges == null || strategy == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        List<GraphEdge<L>> list = new ArrayList<>(edges);
+        int n = list.size();
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++)         //unica passata di controllo dei pesi
+        {
+            GraphEdge<L> edge = list.get(i);
+            if (!edge.hasWeight() || edge.getWeight() < 0)
+            {
+                throw new IllegalArgumentException("ERRORE! Almeno un arco non è pesato o è negativo");
+            }
+            weights[i] = edge.getWeight() + 0.0;        //trasforma -0.0 in 0.0
+        }
+        if (strategy == Strategy.AUTO)
+        {
+            strategy = n >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1
+                    ? Strategy.PARALLEL : Strategy.INTROSORT;
+        }
+        if (strategy == Strategy.PARALLEL)
+        {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            GraphEdge<L>[] array = list.toArray(new GraphEdge[n]);
+            Arrays.parallelSort(array, Comparator.comparingDouble(GraphEdge::getWeight));
+            return new ArrayList<>(Arrays.asList(array));
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+        {
+            order[i] = i;
+        }
+        if (strategy == Strategy.RADIX)
+        {
+            radixSort(weights, order);
+        }
+        else
+        {
+            introSort(weights, order, 0, n - 1, 2 * (31 - Integer.numberOfLeadingZeros(Math.max(n, 1))));
+        }
+        List<GraphEdge<L>> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+        {
+            result.add(list.get(order[i]));
+        }
+        return result;
+    }
+
+    /*
+     * Ordina weights[lo..hi] spostando allo stesso modo order[lo..hi]. La
+     * ricorsione avviene solo sulla parte più corta, quindi lo stack è
+     * O(log n); oltre depthLimit livelli si passa a heapsort.
+     */
+    private static void introSort(double[] w, int[] order, int lo, int hi, int depthLimit)
+    {
+        while (hi - lo + 1 > INSERTION_THRESHOLD)
+        {
+            if (depthLimit-- == 0)
+            {
+                heapSort(w, order, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;          //mediano di tre come pivot
+            if (w[mid] < w[lo]) swap(w, order, mid, lo);
+            if (w[hi] < w[lo]) swap(w, order, hi, lo);
+            if (w[hi] < w[mid]) swap(w, order, hi, mid);
+            double pivot = w[mid];
+            int lt = lo;                //partizione a tre vie: [lo,lt) < pivot, [lt,i) = pivot, (gt,hi] > pivot
+            int gt = hi;
+            int i = lo;
+            while (i <= gt)
+            {
+                if (w[i] < pivot)
+                {
+                    swap(w, order, lt++, i++);
+                }
+                else if (w[i] > pivot)
+                {
+                    swap(w, order, i, gt--);
+                }
+                else
+                {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt)          //ricorro sulla parte più corta e itero sull'altra
+            {
+                introSort(w, order, lo, lt - 1, depthLimit);
+                lo = gt + 1;
+            }
+            else
+            {
+                introSort(w, order, gt + 1, hi, depthLimit);
+                hi = lt - 1;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++)      //insertion sort sui segmenti corti
+        {
+            double key = w[i];
+            int index = order[i];
+            int j = i - 1;
+            while (j >= lo && w[j] > key)
+            {
+                w[j + 1] = w[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            w[j + 1] = key;
+            order[j + 1] = index;
+        }
+    }
+
+    private static void heapSort(double[] w, int[] order, int lo, int hi)
+    {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+        {
+            siftDown(w, order, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--)
+        {
+            swap(w, order, lo, lo + end);
+            siftDown(w, order, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] w, int[] order, int lo, int i, int n)
+    {
+        while (2 * i + 1 < n)
+        {
+            int child = 2 * i + 1;
+            if (child + 1 < n && w[lo + child + 1] > w[lo + child])
+            {
+                child++;
+            }
+            if (w[lo + i] >= w[lo + child])
+            {
+                return;
+            }
+            swap(w, order, lo + i, lo + child);
+            i = child;
+        }
+    }
+
+    private static void swap(double[] w, int[] order, int i, int j)
+    {
+        double tw = w[i];
+        w[i] = w[j];
+        w[j] = tw;
+        int to = order[i];
+        order[i] = order[j];
+        order[j] = to;
+    }
+
+    /*
+     * Radix sort LSD stabile a cifre di 8 bit sui bit dei pesi. I pesi non
+     * negativi hanno il bit di segno a zero, quindi i loro bit ordinati come
+     * interi danno lo stesso ordine dei valori.
+     */
+    private static void radixSort(double[] w, int[] order)
+    {
+        int n = w.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+        {
+            keys[i] = Double.doubleToRawLongBits(w[i]);
+        }
+        long[] keysTmp = new long[n];
+        int[] current = order;
+        int[] orderTmp = new int[n];
+        int[] count = new int[257];
+        for (int shift = 0; shift < 64; shift += 8)
+        {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++)
+            {
+                count[(int) ((keys[i] >>> shift) & 0xFF) + 1]++;
+            }
+            if (n == 0 || count[(int) ((keys[0] >>> shift) & 0xFF) + 1] == n)
+            {
+                continue;               //tutti hanno la stessa cifra: la passata non cambierebbe nulla
+            }
+            for (int d = 0; d < 256; d++)
+            {
+                count[d + 1] += count[d];
+            }
+            for (int i = 0; i < n; i++)
+            {
+                int position = count[(int) ((keys[i] >>> shift) & 0xFF)]++;
+                keysTmp[position] = keys[i];
+                orderTmp[position] = current[i];
+            }
+            long[] k = keys;            //scambio gli array invece di copiarli
+            keys = keysTmp;
+            keysTmp = k;
+            int[] o = current;
+            current = orderTmp;
+            orderTmp = o;
+        }
+        if (current != order)
+        {
+            System.arraycopy(current, 0, order, 0, n);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe EdgeSorter.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class EdgeSorterTest {
+
+    private static List<GraphEdge<Integer>> edges(double[] weights) {
+        List<GraphEdge<Integer>> list = new ArrayList<GraphEdge<Integer>>();
+        for (int i = 0; i < weights.length; i++)
+            list.add(new GraphEdge<Integer>(new GraphNode<Integer>(i),
+                    new GraphNode<Integer>(i + 1), false, weights[i]));
+        return list;
+    }
+
+    private static void assertSorted(double[] weights) {
+        double[] expected = weights.clone();
+        Arrays.sort(expected);
+        for (EdgeSorter.Strategy strategy : EdgeSorter.Strategy.values()) {
+            List<GraphEdge<Integer>> sorted = EdgeSorter
+                    .sortByWeight(edges(weights), strategy);
+            assertEquals(weights.length, sorted.size());
+            for (int i = 0; i < expected.length; i++)
+                assertTrue(sorted.get(i).getWeight() == expected[i]);
+        }
+    }
+
+    @Test
+    final void testRandomWeights() {
+        Random random = new Random(42);
+        double[] weights = new double[5000];
+        for (int i = 0; i < weights.length; i++)
+            weights[i] = random.nextDouble() * 1000;
+        assertSorted(weights);
+        assertSorted(new double[] { 3.5, 0, 1e300, Double.MIN_VALUE, 2,
+                Double.POSITIVE_INFINITY, 1 });
+        assertSorted(new double[0]);
+    }
+
+    @Test
+    final void testSortedAndEqualWeights() {
+        int n = 100000;
+        double[] ascending = new double[n];
+        double[] descending = new double[n];
+        double[] buckets = new double[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+            buckets[i] = i % 3;
+        }
+        assertSorted(ascending);
+        assertSorted(descending);
+        assertSorted(buckets);
+        double[] unit = new double[n];
+        Arrays.fill(unit, 1.0);
+        assertSorted(unit);
+    }
+
+    @Test
+    final void testInvalidWeights() {
+        List<GraphEdge<Integer>> list = edges(new double[] { 1, -2 });
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeSorter.sortByWeight(list,
+                        EdgeSorter.Strategy.RADIX));
+        List<GraphEdge<Integer>> unweighted = new ArrayList<GraphEdge<Integer>>();
+        unweighted.add(new GraphEdge<Integer>(new GraphNode<Integer>(1),
+                new GraphNode<Integer>(2), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> EdgeSorter.sortByWeight(unweighted,
+                        EdgeSorter.Strategy.INTROSORT));
+        assertThrows(NullPointerException.class,
+                () -> EdgeSorter.sortByWeight(unweighted, null));
+        List<GraphEdge<Integer>> zeros = edges(new double[] { 1, -0.0, 0 });
+        assertTrue(EdgeSorter.sortByWeight(zeros, EdgeSorter.Strategy.RADIX)
+                .get(2).getWeight() == 1);
+    }
+}
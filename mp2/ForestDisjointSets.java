@@ -1,9 +1,13 @@
 package it.unicam.cs.asdl2324.mp2;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 
 /**
@@ -25,7 +29,74 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      * i test JUnit.
      */
     protected Map<E, Node<E>> currentElements;
-    
+
+    /*
+     * Insieme dei rappresentanti correnti, aggiornato da makeSet e da Link.
+     * La variabile è protected unicamente per permettere i test JUnit.
+     */
+    protected Set<E> roots;
+
+    /*
+     * Vista non modificabile e sempre aggiornata di roots
+     */
+    private final Set<E> rootsView;
+
+    /**
+     * Strategie con cui {@code findSet} accorcia il cammino dal nodo alla
+     * radice. Tutte garantiscono, insieme all'unione per rango, lo stesso
+     * costo ammortizzato O(α(n)) per operazione.
+     */
+    public enum PathStrategy {
+        /**
+         * Compressione del cammino in due passate: tutti i nodi del cammino
+         * vengono collegati direttamente alla radice.
+         */
+        COMPRESSION,
+        /**
+         * Dimezzamento del cammino in una passata: un nodo sì e uno no viene
+         * collegato al proprio nonno.
+         */
+        HALVING,
+        /**
+         * Divisione del cammino in una passata: ogni nodo del cammino viene
+         * collegato al proprio nonno.
+         */
+        SPLITTING
+    }
+
+    /*
+     * Strategia usata da findSet per accorciare i cammini
+     */
+    private final PathStrategy strategy;
+
+    /**
+     * Criteri con cui {@code union} sceglie quale radice diventa il
+     * rappresentante dell'unione. In caso di parità vince sempre la radice
+     * dell'insieme di e2.
+     */
+    public enum LinkPolicy {
+        /**
+         * Unione per rango: vince la radice con rango maggiore.
+         */
+        RANK,
+        /**
+         * Unione per dimensione: vince la radice dell'insieme con più
+         * elementi.
+         */
+        SIZE
+    }
+
+    /*
+     * Criterio usato da Link per scegliere la nuova radice
+     */
+    private final LinkPolicy policy;
+
+    /*
+     * Radice dell'insieme con più elementi, null se la foresta è vuota. Gli
+     * insiemi possono solo crescere, quindi basta aggiornarla in Link.
+     */
+    private Node<E> largest;
+
     /*
      * Classe interna statica che rappresenta i nodi degli alberi della foresta.
      * Gli specificatori sono tutti protected unicamente per permettere i test
@@ -49,9 +120,22 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
          */
         protected int rank;
 
+        /*
+         * Il nodo successivo nella lista circolare dei membri dell'insieme di
+         * cui fa parte questo nodo. In un insieme singoletto punta al nodo
+         * stesso.
+         */
+        protected Node<E> next;
+
+        /*
+         * Il numero di elementi dell'insieme, significativo solo se il nodo è
+         * una radice.
+         */
+        protected int size;
+
         /**
-         * Costruisce un nodo radice con parent che punta a se stesso e rango
-         * zero.
+         * Costruisce un nodo radice con parent e next che puntano a se stesso,
+         * rango zero e dimensione uno.
          * 
          * @param item
          *                 l'elemento conservato in questo nodo
@@ -61,6 +145,8 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             this.item = item;
             this.parent = this;
             this.rank = 0;
+            this.next = this;
+            this.size = 1;
         }
 
     }
@@ -71,7 +157,49 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
      */
     public ForestDisjointSets()
     {
-    currentElements= new HashMap<>();
+    this(PathStrategy.COMPRESSION);
+    }
+
+    /**
+     * Costruisce una foresta vuota di insiemi disgiunti rappresentati da
+     * alberi che usa una strategia data per accorciare i cammini durante
+     * {@code findSet}.
+     *
+     * @param strategy
+     *                     la strategia di accorciamento dei cammini
+     * @throws NullPointerException
+     *                                  se la strategia passata è null
+     */
+    public ForestDisjointSets(PathStrategy strategy)
+    {
+        this(strategy, LinkPolicy.RANK);
+    }
+
+    /**
+     * Costruisce una foresta vuota di insiemi disgiunti rappresentati da
+     * alberi che usa una strategia data per accorciare i cammini durante
+     * {@code findSet} e un criterio dato per scegliere il rappresentante
+     * durante {@code union}.
+     *
+     * @param strategy
+     *                     la strategia di accorciamento dei cammini
+     * @param policy
+     *                     il criterio di unione
+     * @throws NullPointerException
+     *                                  se almeno uno dei parametri è null
+     */
+    public ForestDisjointSets(PathStrategy strategy, LinkPolicy policy)
+    {
+        if (strategy == null || policy == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        this.strategy = strategy;
+        this.policy = policy;
+        this.largest = null;
+        currentElements= new HashMap<>();
+        roots = new HashSet<>();
+        rootsView = Collections.unmodifiableSet(roots);
     }
 
     @Override
@@ -97,40 +225,74 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
         }
         Node<E> Nodo = new Node<>(e);
         currentElements.put(e, Nodo);       //creo un nodo e inserisco col metodo put
+        roots.add(e);                       //ogni nuovo singoletto è anche un rappresentante
+        if (largest == null)
+        {
+            largest = Nodo;
+        }
     }
 
     /*
      * L'implementazione del find-set deve realizzare l'euristica
      * "compressione del cammino". Si vedano le istruzioni o il libro di testo
      * Cormen et al. (terza edizione) Capitolo 21 Sezione 3.
+     *
+     * La ricerca è iterativa e segue direttamente i puntatori parent, quindi
+     * fa un solo accesso alla mappa e non può esaurire lo stack anche su
+     * alberi molto alti.
      */
     @Override
     public E findSet(E e)           //algoritmo di compressione del cammino che usa la struttura UNION-FIND, che serve per gestire insiemi disgiunti
     {                               //e risolvere problemi di connettività in grafi
-                                    //viene applicato durante le operazioni di ricerca all'interno di un insieme e modifica la struttura dell'albero per ridurre la lunghezza del percorso fra nodo e root
         if (e == null)
         {
             throw new NullPointerException("ERRORE! Non sono ammessi valori null");
         }
-        if(!currentElements.containsKey(e))
-        {
-            return null;
-        }
-        Node<E> node = currentElements.get(e);      //creo un nodo
+        Node<E> node = currentElements.get(e);
         if(node == null)
         {
-            return null;        //se è nullo restituisce null
+            return null;        //l'elemento non è presente
         }
+        return findRoot(node).item;
+    }
 
-        if(node==node.parent)
+    /*
+     * Restituisce la radice dell'albero di cui fa parte il nodo, accorciando
+     * il cammino secondo la strategia scelta nel costruttore.
+     */
+    protected Node<E> findRoot(Node<E> node)
+    {
+        switch (strategy)
         {
-            return node.item;       //vedo se il nodo è lui stesso l'item
+            case HALVING:
+                while (node.parent != node)
+                {
+                    node.parent = node.parent.parent;       //salto al nonno e proseguo da lì
+                    node = node.parent;
+                }
+                return node;
+            case SPLITTING:
+                while (node.parent != node)
+                {
+                    Node<E> next = node.parent;
+                    node.parent = next.parent;      //collego al nonno e proseguo dal vecchio parent
+                    node = next;
+                }
+                return node;
+            default:
+                Node<E> root = node;
+                while (root.parent != root)         //prima passata: trovo la radice
+                {
+                    root = root.parent;
+                }
+                while (node != root)                //seconda passata: collego tutto il cammino alla radice
+                {
+                    Node<E> next = node.parent;
+                    node.parent = root;
+                    node = next;
+                }
+                return root;
         }
-
-        E root = findSet(node.parent.item);
-        Node<E> Nodo = currentElements.get(root);
-        node.parent=Nodo;
-        return root;
     }
 
     /*
@@ -151,32 +313,193 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             throw new NullPointerException("ERRORE! Almeno uno dei due elementi è null");
         }
 
-        if(!currentElements.containsKey(e1) || !currentElements.containsKey(e2))
+        Node<E> node1 = currentElements.get(e1);
+        Node<E> node2 = currentElements.get(e2);
+        if(node1 == null || node2 == null)
         {
             throw new IllegalArgumentException("ERRORE! Almeno uno dei due elementi non è presente");
         }
 
-        E first  = findSet(e1);         //assegno a 'first' e 'second' il findSet corrispondente
-        E second = findSet(e2);
+        Node<E> first  = findRoot(node1);         //assegno a 'first' e 'second' le radici corrispondenti
+        Node<E> second = findRoot(node2);
 
         if(first == second)
         {
             return;
         }
-        Node<E> node1 = currentElements.get(first);     //assegno a 'node1' e 'node2' i nodi
-        Node<E> node2 = currentElements.get(second);
-        Link(node1, node2);
+        Link(first, second);
     }
 
-    @Override
-    public Set<E> getCurrentRepresentatives()
+    /**
+     * Crea un insieme singoletto per ogni elemento della collezione. La mappa
+     * degli elementi viene dimensionata una volta sola per tutti i nuovi
+     * elementi. Se viene lanciata un'eccezione la struttura non viene
+     * modificata.
+     *
+     * @param c
+     *              gli elementi da inserire
+     * @throws NullPointerException
+     *                                      se la collezione o almeno uno dei
+     *                                      suoi elementi è null
+     * @throws IllegalArgumentException
+     *                                      se almeno un elemento è già
+     *                                      presente o compare più volte nella
+     *                                      collezione
+     */
+    public void makeSets(Collection<? extends E> c)
     {
-        Set<E> result = new HashSet<>();
-        for(Node<E> node : currentElements.values())  //In questo metodo controllo solo se il nodo ha se stesso come parent
+        if (c == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        for (E e : c)       //prima valido tutto, così un errore non lascia inserimenti a metà
         {
-            if(node.parent.equals(node)) result.add(node.item);     //le root verranno aggiornate ogni volta che viene eseguito 'union'
+            if (e == null)
+            {
+                throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+            }
+            if (currentElements.containsKey(e))
+            {
+                throw new IllegalArgumentException("ERRORE! L'oggetto è già contenuto");
+            }
+        }
+        if (currentElements.size() < c.size())      //ridimensiono una volta sola; copiare costa meno degli elementi nuovi
+        {
+            Map<E, Node<E>> resized = new HashMap<>((int) ((currentElements.size() + c.size()) / 0.75f) + 1);
+            resized.putAll(currentElements);
+            currentElements = resized;
+        }
+        int inserted = 0;
+        for (E e : c)
+        {
+            Node<E> node = new Node<>(e);
+            if (currentElements.putIfAbsent(e, node) != null)      //elemento ripetuto nella collezione: annullo gli inserimenti
+            {
+                for (E added : c)
+                {
+                    if (inserted-- == 0)
+                    {
+                        break;
+                    }
+                    currentElements.remove(added);
+                    roots.remove(added);
+                }
+                throw new IllegalArgumentException("ERRORE! L'oggetto " + e + " compare più volte");
+            }
+            roots.add(e);
+            inserted++;
+        }
+        if (largest == null && !c.isEmpty())
+        {
+            largest = currentElements.get(c.iterator().next());
         }
-        return result;
+    }
+
+    /**
+     * Unisce, nell'ordine, gli insiemi di ogni coppia di elementi passata.
+     * Tutte le coppie vengono validate prima di eseguire le unioni, quindi se
+     * viene lanciata un'eccezione la struttura non viene modificata; le unioni
+     * vengono poi eseguite direttamente sui nodi, senza ripetere i controlli.
+     *
+     * @param pairs
+     *                  le coppie di elementi da unire
+     * @throws NullPointerException
+     *                                      se pairs, una coppia o almeno uno
+     *                                      degli elementi è null
+     * @throws IllegalArgumentException
+     *                                      se almeno un elemento non è
+     *                                      presente
+     */
+    public void unionAll(Iterable<? extends Map.Entry<? extends E, ? extends E>> pairs)
+    {
+        if (pairs == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        ArrayList<Node<E>> nodes = new ArrayList<>();
+        for (Map.Entry<? extends E, ? extends E> pair : pairs)      //prima passata: controlli e ricerca dei nodi
+        {
+            if (pair == null || pair.getKey() == null || pair.getValue() == null)
+            {
+                throw new NullPointerException("ERRORE! Almeno uno dei due elementi è null");
+            }
+            Node<E> node1 = currentElements.get(pair.getKey());
+            Node<E> node2 = currentElements.get(pair.getValue());
+            if (node1 == null || node2 == null)
+            {
+                throw new IllegalArgumentException("ERRORE! Almeno uno dei due elementi non è presente");
+            }
+            nodes.add(node1);
+            nodes.add(node2);
+        }
+        for (int i = 0; i < nodes.size(); i += 2)       //seconda passata: solo unioni
+        {
+            Node<E> first = findRoot(nodes.get(i));
+            Node<E> second = findRoot(nodes.get(i + 1));
+            if (first != second)
+            {
+                Link(first, second);
+            }
+        }
+    }
+
+    /**
+     * Scrive in out[i] il rappresentante dell'insieme di in[i], oppure null se
+     * in[i] non è presente, per ogni i da 0 a in.length - 1.
+     *
+     * @param in
+     *                gli elementi da cercare
+     * @param out
+     *                l'array in cui scrivere i rappresentanti, lungo almeno
+     *                quanto in
+     * @throws NullPointerException
+     *                                      se almeno uno dei due array o degli
+     *                                      elementi di in è null
+     * @throws IllegalArgumentException
+     *                                      se out è più corto di in
+     */
+    public void findSetsBatch(E[] in, E[] out)
+    {
+        if (in == null || out == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (out.length < in.length)
+        {
+            throw new IllegalArgumentException("ERRORE! L'array di uscita è troppo corto");
+        }
+        for (int i = 0; i < in.length; i++)
+        {
+            if (in[i] == null)
+            {
+                throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+            }
+            Node<E> node = currentElements.get(in[i]);
+            out[i] = node == null ? null : findRoot(node).item;
+        }
+    }
+
+    /*
+     * Restituisce una vista non modificabile dell'insieme dei rappresentanti,
+     * che viene mantenuto da makeSet e da Link: la chiamata costa O(1) e la
+     * vista riflette automaticamente le operazioni successive. Chi vuole una
+     * fotografia dello stato corrente deve copiarla.
+     */
+    @Override
+    public Set<E> getCurrentRepresentatives()
+    {
+        return rootsView;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti, in
+     * tempo costante.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount()
+    {
+        return roots.size();
     }
 
     @Override
@@ -192,31 +515,118 @@ public class ForestDisjointSets<E> implements DisjointSets<E> {
             throw new IllegalArgumentException("ERRORE! L'elemento non è contenuto");
         }
         Set<E> elements = new HashSet<>();
-        E root = findSet(e);        //trova 'root' dell'elemento
-        for(E currentElement : currentElements.keySet())    //keySet fa scorrere tutte le chiavi
+        forEachMemberOf(e, elements::add);      //scorro solo i membri dell'insieme di 'e'
+        return elements;
+    }
+
+    /**
+     * Esegue un'azione su ogni elemento dell'insieme disgiunto di cui fa
+     * parte l'elemento passato, senza costruire collezioni intermedie. Il
+     * costo è proporzionale alla cardinalità dell'insieme e non al numero
+     * totale di elementi.
+     *
+     * @param e
+     *                   l'elemento di cui scorrere l'insieme
+     * @param action
+     *                   l'azione da eseguire su ogni elemento dell'insieme
+     * @throws NullPointerException
+     *                                      se almeno uno dei parametri è null
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente
+     */
+    public void forEachMemberOf(E e, Consumer<? super E> action)
+    {
+        if (e == null || action == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        Node<E> start = currentElements.get(e);
+        if (start == null)
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento non è contenuto");
+        }
+        Node<E> current = start;
+        do                                  //percorro la lista circolare fino a tornare al nodo di partenza
         {
+            action.accept(current.item);
+            current = current.next;
+        }
+        while (current != start);
+    }
 
-            if(findSet(currentElement) == root)   //aggiungo  'currentElement' al set se sono uguali
-            {
-                elements.add(currentElement);
-            }
+    /**
+     * Restituisce il numero di elementi dell'insieme disgiunto di cui fa
+     * parte l'elemento passato. Costa quanto un {@code findSet}, perché la
+     * dimensione è conservata nella radice.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return la cardinalità dell'insieme di e
+     * @throws NullPointerException
+     *                                      se l'elemento passato è null
+     * @throws IllegalArgumentException
+     *                                      se l'elemento non è presente
+     */
+    public int getCardinalityOfSetContaining(E e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
         }
-        return elements;
+        Node<E> node = currentElements.get(e);
+        if (node == null)
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento non è contenuto");
+        }
+        return findRoot(node).size;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto con più elementi,
+     * in tempo costante. In caso di parità restituisce il primo insieme che
+     * ha raggiunto quella dimensione.
+     *
+     * @return il rappresentante dell'insieme più grande, oppure null se non
+     *         ci sono insiemi
+     */
+    public E largestComponent()
+    {
+        return largest == null ? null : largest.item;
     }
 
     @Override
     public void clear()
     {
        currentElements.clear();
+       roots.clear();
+       largest = null;
     }
 
     private void Link(Node<E> e1, Node<E> e2)
     {
-        if(e1.rank > e2.rank){                             //assegno il parent in base al rank
-            e2.parent =e1;
+        Node<E> winner;
+        Node<E> loser;
+        boolean firstWins = policy == LinkPolicy.SIZE ? e1.size > e2.size : e1.rank > e2.rank;
+        if(firstWins){                             //assegno il parent in base al rank o alla dimensione
+            winner = e1;
+            loser = e2;
         }else {
-            e1.parent = e2;
-            e2.rank += (e1.rank == e2.rank) ? 1 : 0;        //incrementa il rank di e2 di 1 se i due ranks sono uguali usando un operatore ternario
+            winner = e2;
+            loser = e1;
+            if (policy == LinkPolicy.RANK)
+            {
+                e2.rank += (e1.rank == e2.rank) ? 1 : 0;        //incrementa il rank di e2 di 1 se i due ranks sono uguali usando un operatore ternario
+            }
+        }
+        loser.parent = winner;
+        roots.remove(loser.item);
+        winner.size += loser.size;
+        if (winner.size > largest.size)     //l'unione può superare il massimo corrente
+        {
+            largest = winner;
         }
+        Node<E> next1 = e1.next;            //scambiando i next delle due radici le due liste circolari diventano una sola
+        e1.next = e2.next;
+        e2.next = next1;
     }
 }
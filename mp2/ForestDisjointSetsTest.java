@@ -2,7 +2,12 @@ package it.unicam.cs.asdl2324.mp2;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -643,4 +648,162 @@ class ForestDisjointSetsTest {
         assertTrue(ds.getCurrentRepresentatives().isEmpty());
         assertTrue(ds.currentElements.isEmpty());
     }
+
+    @Test
+    final void testFindSetOnLongChain() {
+        for (ForestDisjointSets.PathStrategy strategy : ForestDisjointSets.PathStrategy
+                .values()) {
+            ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>(
+                    strategy);
+            int n = 200000;
+            for (int i = 0; i < n; i++)
+                ds.makeSet(i);
+            // catena costruita aggirando Link: i -> i + 1
+            for (int i = 0; i < n - 1; i++)
+                ds.currentElements.get(i).parent = ds.currentElements
+                        .get(i + 1);
+            assertEquals(n - 1, (int) ds.findSet(0));
+            assertEquals(n - 1, (int) ds.findSet(n / 2));
+            if (strategy == ForestDisjointSets.PathStrategy.COMPRESSION)
+                assertTrue(ds.currentElements.get(0).parent == ds.currentElements
+                        .get(n - 1));
+            else
+                assertTrue(ds.currentElements.get(0).parent == ds.currentElements
+                        .get(2));
+            for (int i = 0; i < n; i++)
+                assertEquals(n - 1, (int) ds.findSet(i));
+        }
+        assertThrows(NullPointerException.class,
+                () -> new ForestDisjointSets<Integer>(null));
+    }
+
+    @Test
+    final void testForEachMemberOf() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        for (int i = 1; i <= 6; i++)
+            ds.makeSet(i);
+        ds.union(1, 2);
+        ds.union(3, 4);
+        ds.union(2, 4);
+        ds.union(1, 3);
+        Set<Integer> members = new HashSet<Integer>();
+        ds.forEachMemberOf(3, members::add);
+        Set<Integer> expected = new HashSet<Integer>();
+        expected.add(1);
+        expected.add(2);
+        expected.add(3);
+        expected.add(4);
+        assertTrue(members.equals(expected));
+        int[] count = new int[1];
+        ds.forEachMemberOf(5, x -> count[0]++);
+        assertEquals(1, count[0]);
+        assertThrows(NullPointerException.class,
+                () -> ds.forEachMemberOf(null, x -> {
+                }));
+        assertThrows(NullPointerException.class,
+                () -> ds.forEachMemberOf(1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.forEachMemberOf(7, x -> {
+                }));
+    }
+
+    @Test
+    final void testComponentCountAndLiveRepresentatives() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        Set<Integer> view = ds.getCurrentRepresentatives();
+        assertEquals(0, ds.componentCount());
+        for (int i = 1; i <= 5; i++)
+            ds.makeSet(i);
+        assertEquals(5, ds.componentCount());
+        assertEquals(5, view.size());
+        ds.union(1, 2);
+        ds.union(3, 4);
+        ds.union(1, 2);
+        assertEquals(3, ds.componentCount());
+        assertEquals(3, view.size());
+        assertTrue(view.contains(ds.findSet(1)));
+        assertTrue(view.contains(ds.findSet(3)));
+        assertTrue(view.contains(5));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(7));
+        ds.clear();
+        assertEquals(0, ds.componentCount());
+        assertTrue(view.isEmpty());
+    }
+
+    @Test
+    final void testUnionBySizeAndCardinality() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>(
+                ForestDisjointSets.PathStrategy.COMPRESSION,
+                ForestDisjointSets.LinkPolicy.SIZE);
+        assertTrue(ds.largestComponent() == null);
+        for (int i = 1; i <= 6; i++)
+            ds.makeSet(i);
+        assertEquals(1, ds.largestComponent());
+        ds.union(1, 2);
+        ds.union(3, 2);
+        ForestDisjointSets.Node<Integer> n2 = ds.currentElements.get(2);
+        assertTrue(ds.currentElements.get(3).parent == n2);
+        assertEquals(3, n2.size);
+        ds.union(4, 5);
+        ds.union(2, 5);
+        // vince l'insieme più grande anche se è quello di e1
+        assertTrue(ds.currentElements.get(5).parent == n2);
+        assertEquals(5, ds.getCardinalityOfSetContaining(4));
+        assertEquals(1, ds.getCardinalityOfSetContaining(6));
+        assertEquals(2, ds.largestComponent());
+        assertThrows(NullPointerException.class,
+                () -> ds.getCardinalityOfSetContaining(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.getCardinalityOfSetContaining(7));
+        ForestDisjointSets<Integer> byRank = new ForestDisjointSets<Integer>();
+        for (int i = 1; i <= 3; i++)
+            byRank.makeSet(i);
+        byRank.union(1, 2);
+        byRank.union(3, 1);
+        assertEquals(3, byRank.getCardinalityOfSetContaining(3));
+        assertEquals(2, byRank.largestComponent());
+        byRank.clear();
+        assertTrue(byRank.largestComponent() == null);
+        assertThrows(NullPointerException.class,
+                () -> new ForestDisjointSets<Integer>(
+                        ForestDisjointSets.PathStrategy.HALVING, null));
+    }
+
+    @Test
+    final void testBatchOperations() {
+        ForestDisjointSets<Integer> ds = new ForestDisjointSets<Integer>();
+        ds.makeSet(0);
+        ds.makeSets(Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(6, ds.componentCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.makeSets(Arrays.asList(6, 7, 6)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.makeSets(Arrays.asList(8, 1)));
+        assertThrows(NullPointerException.class,
+                () -> ds.makeSets(Arrays.asList(8, null)));
+        assertFalse(ds.isPresent(6));
+        assertFalse(ds.isPresent(8));
+        List<Map.Entry<Integer, Integer>> pairs = new ArrayList<Map.Entry<Integer, Integer>>();
+        pairs.add(new AbstractMap.SimpleEntry<Integer, Integer>(1, 2));
+        pairs.add(new AbstractMap.SimpleEntry<Integer, Integer>(3, 4));
+        pairs.add(new AbstractMap.SimpleEntry<Integer, Integer>(2, 4));
+        ds.unionAll(pairs);
+        assertEquals(3, ds.componentCount());
+        List<Map.Entry<Integer, Integer>> wrong = new ArrayList<Map.Entry<Integer, Integer>>();
+        wrong.add(new AbstractMap.SimpleEntry<Integer, Integer>(0, 5));
+        wrong.add(new AbstractMap.SimpleEntry<Integer, Integer>(0, 9));
+        assertThrows(IllegalArgumentException.class, () -> ds.unionAll(wrong));
+        assertEquals(3, ds.componentCount());
+        Integer[] in = { 1, 2, 3, 5, 9 };
+        Integer[] out = new Integer[5];
+        ds.findSetsBatch(in, out);
+        assertEquals(4, out[0]);
+        assertEquals(4, out[1]);
+        assertEquals(4, out[2]);
+        assertEquals(5, out[3]);
+        assertTrue(out[4] == null);
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.findSetsBatch(in, new Integer[2]));
+    }
+
 }
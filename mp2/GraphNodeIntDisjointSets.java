@@ -0,0 +1,186 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Adattatore che presenta un {@code IntDisjointSets} come
+ * {@code DisjointSets<GraphNode<L>>} per i nodi di un grafo che supporta gli
+ * indici dei nodi. Ogni nodo è rappresentato dal proprio indice nel grafo,
+ * quindi gli insiemi disgiunti non hanno bisogno né di una mappa né di un
+ * oggetto per elemento.
+ *
+ * Il grafo non deve essere modificato finché l'adattatore è in uso, perché la
+ * rimozione di nodi può cambiare gli indici.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class GraphNodeIntDisjointSets<L> implements DisjointSets<GraphNode<L>> {
+
+    private final Graph<L> graph;
+
+    private final IntDisjointSets sets;
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti di nodi di un grafo
+     * dato.
+     *
+     * @param graph
+     *                  il grafo i cui nodi faranno parte degli insiemi
+     * @throws NullPointerException
+     *                                  se il grafo passato è null
+     */
+    public GraphNodeIntDisjointSets(Graph<L> graph)
+    {
+        if (graph == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        this.graph = graph;
+        this.sets = new IntDisjointSets(graph.nodeCount());
+    }
+
+    /**
+     * Crea un insieme singoletto per ogni nodo del grafo con una sola
+     * allocazione.
+     *
+     * @throws IllegalArgumentException
+     *                                      se almeno un nodo è già presente
+     */
+    public void makeSetsOfAllNodes()
+    {
+        sets.makeSets(graph.nodeCount());
+    }
+
+    /**
+     * Unisce gli insiemi dei nodi con gli indici dati.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return true se gli insiemi erano distinti e sono stati uniti
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due nodi non è
+     *                                      presente
+     */
+    public boolean unionByIndex(int i, int j)
+    {
+        return sets.union(i, j);
+    }
+
+    /**
+     * Determina se i nodi con gli indici dati sono nello stesso insieme.
+     *
+     * @param i
+     *              l'indice del primo nodo
+     * @param j
+     *              l'indice del secondo nodo
+     * @return true se i due nodi sono presenti e nello stesso insieme
+     */
+    public boolean sameSetByIndex(int i, int j)
+    {
+        int root = sets.findSet(i);
+        return root >= 0 && root == sets.findSet(j);
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount()
+    {
+        return sets.componentCount();
+    }
+
+    @Override
+    public boolean isPresent(GraphNode<L> e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        return graph.getNode(e) != null && sets.isPresent(graph.getNodeIndexOf(e));
+    }
+
+    @Override
+    public void makeSet(GraphNode<L> e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        sets.makeSet(graph.getNodeIndexOf(e));      //lancia IllegalArgumentException se il nodo non è nel grafo
+    }
+
+    @Override
+    public GraphNode<L> findSet(GraphNode<L> e)
+    {
+        if (!isPresent(e))
+        {
+            return null;
+        }
+        return graph.getNode(sets.findSet(graph.getNodeIndexOf(e)));
+    }
+
+    @Override
+    public void union(GraphNode<L> e1, GraphNode<L> e2)
+    {
+        if (e1 == null || e2 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due elementi è null");
+        }
+        if (!isPresent(e1) || !isPresent(e2))
+        {
+            throw new IllegalArgumentException("ERRORE! Almeno uno dei due elementi non è presente");
+        }
+        sets.union(graph.getNodeIndexOf(e1), graph.getNodeIndexOf(e2));
+    }
+
+    @Override
+    public Set<GraphNode<L>> getCurrentRepresentatives()
+    {
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (int i = 0; i < graph.nodeCount(); i++)
+        {
+            if (sets.isPresent(i) && sets.findSet(i) == i)
+            {
+                result.add(graph.getNode(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<GraphNode<L>> getCurrentElementsOfSetContaining(GraphNode<L> e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (!isPresent(e))
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento non è contenuto");
+        }
+        int root = sets.findSet(graph.getNodeIndexOf(e));
+        Set<GraphNode<L>> result = new HashSet<>();
+        for (int i = 0; i < graph.nodeCount(); i++)
+        {
+            if (sets.isPresent(i) && sets.findSet(i) == root)
+            {
+                result.add(graph.getNode(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void clear()
+    {
+        sets.clear();
+    }
+}
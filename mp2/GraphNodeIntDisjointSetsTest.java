@@ -0,0 +1,124 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe GraphNodeIntDisjointSets.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class GraphNodeIntDisjointSetsTest {
+
+    /*
+     * Grafo con i nodi da "a" a "e" in cui "b" è stato rimosso lasciando una
+     * posizione morta, quindi gli indici densi sono diversi dalle posizioni
+     */
+    private AdjacencyMatrixUndirectedGraph<String> graphWithDeadSlot() {
+        AdjacencyMatrixUndirectedGraph<String> gr = new AdjacencyMatrixUndirectedGraph<String>(
+                1);
+        for (String label : new String[] { "a", "b", "c", "d", "e" })
+            gr.addNode(label);
+        gr.removeNodeKeepingIds(gr.getNode("b"));
+        assertEquals(1, gr.deadSlotCount());
+        return gr;
+    }
+
+    @Test
+    final void testMakeSetAndIsPresent() {
+        AdjacencyMatrixUndirectedGraph<String> gr = graphWithDeadSlot();
+        GraphNodeIntDisjointSets<String> ds = new GraphNodeIntDisjointSets<String>(
+                gr);
+        GraphNode<String> c = gr.getNode("c");
+        assertFalse(ds.isPresent(c));
+        ds.makeSet(c);
+        assertTrue(ds.isPresent(c));
+        assertEquals(c, ds.findSet(c));
+        assertFalse(ds.isPresent(gr.getNode("d")));
+        assertNull(ds.findSet(gr.getNode("d")));
+        assertEquals(1, ds.componentCount());
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(c));
+        assertEquals(1, ds.componentCount());
+    }
+
+    @Test
+    final void testUnknownNodes() {
+        AdjacencyMatrixUndirectedGraph<String> gr = graphWithDeadSlot();
+        GraphNodeIntDisjointSets<String> ds = new GraphNodeIntDisjointSets<String>(
+                gr);
+        ds.makeSetsOfAllNodes();
+        GraphNode<String> removed = new GraphNode<String>("b");
+        GraphNode<String> unknown = new GraphNode<String>("z");
+        assertFalse(ds.isPresent(removed));
+        assertFalse(ds.isPresent(unknown));
+        assertNull(ds.findSet(unknown));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(removed));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(unknown));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.union(gr.getNode("a"), unknown));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.getCurrentElementsOfSetContaining(removed));
+        assertThrows(NullPointerException.class, () -> ds.isPresent(null));
+        assertThrows(NullPointerException.class, () -> ds.makeSet(null));
+        assertThrows(NullPointerException.class,
+                () -> ds.union(null, gr.getNode("a")));
+        assertThrows(NullPointerException.class,
+                () -> ds.getCurrentElementsOfSetContaining(null));
+        assertThrows(NullPointerException.class,
+                () -> new GraphNodeIntDisjointSets<String>(null));
+    }
+
+    @Test
+    final void testUnionAndCurrentSets() {
+        AdjacencyMatrixUndirectedGraph<String> gr = graphWithDeadSlot();
+        GraphNodeIntDisjointSets<String> ds = new GraphNodeIntDisjointSets<String>(
+                gr);
+        GraphNode<String> a = gr.getNode("a");
+        GraphNode<String> c = gr.getNode("c");
+        GraphNode<String> d = gr.getNode("d");
+        GraphNode<String> e = gr.getNode("e");
+        ds.makeSetsOfAllNodes();
+        assertEquals(4, ds.componentCount());
+        assertEquals(gr.getNodes(), ds.getCurrentRepresentatives());
+        ds.union(a, e);
+        ds.union(c, d);
+        assertEquals(ds.findSet(a), ds.findSet(e));
+        assertEquals(ds.findSet(c), ds.findSet(d));
+        assertNotEquals(ds.findSet(a), ds.findSet(c));
+        assertTrue(ds.sameSetByIndex(gr.getNodeIndexOf(a),
+                gr.getNodeIndexOf(e)));
+        Set<GraphNode<String>> representatives = new HashSet<GraphNode<String>>();
+        representatives.add(ds.findSet(a));
+        representatives.add(ds.findSet(c));
+        assertEquals(representatives, ds.getCurrentRepresentatives());
+        Set<GraphNode<String>> expected = new HashSet<GraphNode<String>>();
+        expected.add(a);
+        expected.add(e);
+        assertEquals(expected, ds.getCurrentElementsOfSetContaining(e));
+        ds.union(e, d);
+        assertEquals(1, ds.componentCount());
+        assertEquals(gr.getNodes(), ds.getCurrentElementsOfSetContaining(c));
+        ds.union(a, c);
+        assertEquals(1, ds.getCurrentRepresentatives().size());
+    }
+
+    @Test
+    final void testClear() {
+        AdjacencyMatrixUndirectedGraph<String> gr = graphWithDeadSlot();
+        GraphNodeIntDisjointSets<String> ds = new GraphNodeIntDisjointSets<String>(
+                gr);
+        ds.makeSetsOfAllNodes();
+        ds.union(gr.getNode("a"), gr.getNode("c"));
+        ds.clear();
+        assertEquals(0, ds.componentCount());
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        for (GraphNode<String> node : gr.getNodes())
+            assertFalse(ds.isPresent(node));
+        ds.makeSet(gr.getNode("e"));
+        assertEquals(1, ds.getCurrentRepresentatives().size());
+    }
+}
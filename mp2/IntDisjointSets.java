@@ -0,0 +1,274 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.Arrays;
+
+/**
+ * Implementazione di una collezione di insiemi disgiunti di interi non negativi
+ * tramite una foresta di alberi rappresentata con array di tipo primitivo,
+ * pensata per elementi che sono indici densi (ad esempio gli indici dei nodi di
+ * un grafo).
+ *
+ * Rispetto a {@code ForestDisjointSets<Integer>} non ci sono mappe, oggetti
+ * nodo o boxing: il parent dell'elemento i è {@code parent[i]} (-1 se
+ * l'elemento non è presente, i stesso se è una radice) e il suo rango è
+ * {@code rank[i]}. Un elemento occupa quindi 5 byte. Gli array crescono
+ * automaticamente quando viene inserito un elemento più grande della capacità
+ * corrente.
+ *
+ * Le euristiche sono le stesse di {@code ForestDisjointSets}: unione per rango,
+ * con il rappresentante dell'insieme di e2 in caso di parità, e compressione
+ * del cammino iterativa in due passate.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public class IntDisjointSets {
+
+    /*
+     * Lunghezza massima degli array, quindi gli elementi ammessi vanno da 0 a
+     * MAX_CAPACITY - 1
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /*
+     * Parent di ogni elemento, -1 per gli elementi non presenti. La variabile
+     * è protected unicamente per permettere i test JUnit.
+     */
+    protected int[] parent;
+
+    /*
+     * Rango di ogni radice; il rango è al più log2(n), quindi sta in un byte
+     */
+    protected byte[] rank;
+
+    private int elements;
+
+    private int components;
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti.
+     */
+    public IntDisjointSets()
+    {
+        this(16);
+    }
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti con gli array già
+     * dimensionati per contenere gli elementi da 0 a initialCapacity - 1.
+     *
+     * @param initialCapacity
+     *                            la capacità iniziale degli array
+     * @throws IllegalArgumentException
+     *                                      se la capacità è negativa
+     */
+    public IntDisjointSets(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! La capacità non può essere negativa");
+        }
+        this.parent = new int[initialCapacity];
+        Arrays.fill(parent, -1);
+        this.rank = new byte[initialCapacity];
+        this.elements = 0;
+        this.components = 0;
+    }
+
+    /**
+     * Determina se un elemento è stato precedentemente inserito.
+     *
+     * @param e
+     *              l'elemento da cercare
+     * @return true se l'elemento è presente in qualche insieme disgiunto
+     */
+    public boolean isPresent(int e)
+    {
+        return e >= 0 && e < parent.length && parent[e] >= 0;
+    }
+
+    /**
+     * Crea un nuovo insieme disgiunto contenente solo l'elemento dato.
+     *
+     * @param e
+     *              l'elemento da inserire
+     * @throws IllegalArgumentException
+     *                                      se l'elemento è negativo, supera la
+     *                                      capacità massima degli array o è
+     *                                      già presente
+     */
+    public void makeSet(int e)
+    {
+        if (e < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! Gli elementi devono essere non negativi");
+        }
+        if (e >= MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento supera la capacità massima");
+        }
+        if (isPresent(e))
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento è già contenuto");
+        }
+        ensureCapacity(e + 1);
+        parent[e] = e;
+        rank[e] = 0;
+        elements++;
+        components++;
+    }
+
+    /**
+     * Crea n insiemi singoletto, uno per ogni elemento da 0 a n - 1, con una
+     * sola allocazione degli array.
+     *
+     * @param n
+     *              il numero di insiemi da creare
+     * @throws IllegalArgumentException
+     *                                      se n è negativo o supera la
+     *                                      capacità massima degli array, o se
+     *                                      almeno uno degli elementi da 0 a
+     *                                      n - 1 è già presente
+     */
+    public void makeSets(int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! Il numero di insiemi non può essere negativo");
+        }
+        if (n > MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("ERRORE! Il numero di insiemi supera la capacità massima");
+        }
+        for (int i = 0; i < Math.min(n, parent.length); i++)
+        {
+            if (parent[i] >= 0)
+            {
+                throw new IllegalArgumentException("ERRORE! L'elemento " + i + " è già contenuto");
+            }
+        }
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++)
+        {
+            parent[i] = i;
+        }
+        Arrays.fill(rank, 0, n, (byte) 0);
+        elements += n;
+        components += n;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme disgiunto in cui si trova
+     * l'elemento passato, comprimendo il cammino.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme disgiunto
+     * @return il rappresentante dell'insieme di e, oppure -1 se e non è
+     *         presente
+     */
+    public int findSet(int e)
+    {
+        if (!isPresent(e))
+        {
+            return -1;
+        }
+        int root = e;
+        while (parent[root] != root)        //prima passata: trovo la radice
+        {
+            root = parent[root];
+        }
+        while (e != root)                   //seconda passata: collego il cammino alla radice
+        {
+            int next = parent[e];
+            parent[e] = root;
+            e = next;
+        }
+        return root;
+    }
+
+    /**
+     * Unisce gli insiemi disgiunti di cui fanno parte i due elementi passati.
+     * Se fanno già parte dello stesso insieme non fa nulla.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @return true se i due insiemi erano distinti e sono stati uniti, false
+     *         se i due elementi erano già nello stesso insieme
+     * @throws IllegalArgumentException
+     *                                      se almeno uno dei due elementi non
+     *                                      è presente
+     */
+    public boolean union(int e1, int e2)
+    {
+        if (!isPresent(e1) || !isPresent(e2))
+        {
+            throw new IllegalArgumentException("ERRORE! Almeno uno dei due elementi non è presente");
+        }
+        int first = findSet(e1);
+        int second = findSet(e2);
+        if (first == second)
+        {
+            return false;
+        }
+        if (rank[first] > rank[second])         //assegno il parent in base al rank
+        {
+            parent[second] = first;
+        }
+        else
+        {
+            parent[first] = second;
+            if (rank[first] == rank[second])
+            {
+                rank[second]++;
+            }
+        }
+        components--;
+        return true;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount()
+    {
+        return components;
+    }
+
+    /**
+     * Restituisce il numero di elementi attualmente presenti.
+     *
+     * @return il numero di elementi presenti in qualche insieme disgiunto
+     */
+    public int elementCount()
+    {
+        return elements;
+    }
+
+    /**
+     * Cancella tutti gli insiemi disgiunti correnti, mantenendo la capacità
+     * degli array.
+     */
+    public void clear()
+    {
+        Arrays.fill(parent, -1);
+        elements = 0;
+        components = 0;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity <= parent.length)
+        {
+            return;
+        }
+        int newLength = (int) Math.max(capacity, Math.min(MAX_CAPACITY, 2L * parent.length));
+        int oldLength = parent.length;
+        parent = Arrays.copyOf(parent, newLength);
+        Arrays.fill(parent, oldLength, newLength, -1);
+        rank = Arrays.copyOf(rank, newLength);
+    }
+}
@@ -0,0 +1,103 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe IntDisjointSets.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class IntDisjointSetsTest {
+
+    @Test
+    final void testMakeSet() {
+        IntDisjointSets ds = new IntDisjointSets(2);
+        assertFalse(ds.isPresent(1));
+        ds.makeSet(1);
+        assertTrue(ds.isPresent(1));
+        assertEquals(1, ds.findSet(1));
+        ds.makeSet(40);
+        assertTrue(ds.isPresent(40));
+        assertFalse(ds.isPresent(39));
+        assertEquals(-1, ds.findSet(39));
+        assertEquals(2, ds.componentCount());
+        assertEquals(2, ds.elementCount());
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(-1));
+        assertFalse(ds.isPresent(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.makeSet(Integer.MAX_VALUE));
+        assertFalse(ds.isPresent(Integer.MAX_VALUE));
+        assertEquals(2, ds.elementCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> ds.makeSets(Integer.MAX_VALUE));
+        assertEquals(2, ds.componentCount());
+    }
+
+    @Test
+    final void testMakeSets() {
+        IntDisjointSets ds = new IntDisjointSets(0);
+        ds.makeSets(5);
+        assertEquals(5, ds.componentCount());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, ds.findSet(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSets(3));
+        ds.clear();
+        assertEquals(0, ds.componentCount());
+        assertFalse(ds.isPresent(0));
+        ds.makeSets(3);
+        assertEquals(3, ds.elementCount());
+    }
+
+    @Test
+    final void testUnion() {
+        IntDisjointSets ds = new IntDisjointSets();
+        ds.makeSets(6);
+        assertTrue(ds.union(0, 1));
+        assertEquals(1, ds.parent[0]);
+        assertEquals(1, ds.rank[1]);
+        assertTrue(ds.union(2, 3));
+        assertTrue(ds.union(2, 4));
+        assertEquals(3, ds.parent[4]);
+        assertTrue(ds.union(0, 4));
+        assertEquals(3, ds.findSet(0));
+        assertEquals(2, ds.rank[3]);
+        assertFalse(ds.union(1, 2));
+        assertEquals(2, ds.componentCount());
+        assertEquals(5, ds.findSet(5));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(0, 6));
+    }
+
+    @Test
+    final void testFindSetOnLongChain() {
+        int n = 200000;
+        IntDisjointSets ds = new IntDisjointSets();
+        ds.makeSets(n);
+        for (int i = 0; i < n - 1; i++) {
+            ds.parent[i] = i + 1;       //catena degenere costruita a mano
+        }
+        assertEquals(n - 1, ds.findSet(0));
+        for (int i = 0; i < n; i++) {
+            assertEquals(n - 1, ds.parent[i]);
+        }
+    }
+
+    @Test
+    final void testKruskalWithIndexedSets() {
+        Graph<String> g = new AdjacencyMatrixUndirectedGraph<String>();
+        g.addNode("a");
+        g.addNode("b");
+        g.addNode("c");
+        g.addNode("d");
+        g.addWeightedEdge("a", "b", 1);
+        g.addWeightedEdge("b", "c", 2);
+        g.addWeightedEdge("a", "c", 3);
+        g.addWeightedEdge("c", "d", 1);
+        KruskalMST<String> alg = new KruskalMST<String>();
+        assertEquals(3, alg.computeMSP(g).size());
+        assertFalse(alg.computeMSP(g).contains(g.getEdge("a", "c")));
+    }
+}
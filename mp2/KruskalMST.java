@@ -4,6 +4,7 @@ import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 
 
@@ -13,7 +14,16 @@ import java.util.HashSet;
  * Minimum Spanning Tree di un grafo non orientato, pesato e con pesi non
  * negativi. L'algoritmo implementato si avvale della classe
  * {@code ForestDisjointSets<GraphNode<L>>} per gestire una collezione di
- * insiemi disgiunti di nodi del grafo.
+ * insiemi disgiunti di nodi del grafo. Se il grafo supporta gli indici dei
+ * nodi viene usata invece la classe {@code GraphNodeIntDisjointSets}, che
+ * lavora direttamente sugli indici con array di tipo primitivo.
+ *
+ * Gli archi vengono ordinati dalla classe {@code EdgeSorter} con la strategia
+ * scelta nel costruttore. Se nel costruttore viene data una soglia positiva si
+ * usa la variante Filter-Kruskal: gli archi vengono divisi attorno a un peso
+ * pivot, si risolve prima la parte leggera e dalla parte pesante si scartano,
+ * prima di ordinarli, gli archi i cui estremi sono già connessi. Le parti con
+ * al più la soglia di archi vengono risolte con Kruskal classico.
  *
  * @author Luca Tesei (template) DAVUD, SUFA davud.sufa@studenti.unicam.it (implementazione)
  *
@@ -27,17 +37,83 @@ public class KruskalMST<L> {
      * Struttura dati per rappresentare gli insiemi disgiunti utilizzata
      * dall'algoritmo di Kruskal.
      */
-    private ForestDisjointSets<GraphNode<L>> disjointSets;
+    private DisjointSets<GraphNode<L>> disjointSets;
 
   List<GraphEdge<L>> graphEdgeList;
 
+    /*
+     * Strategia usata per ordinare gli archi per peso
+     */
+    private final EdgeSorter.Strategy sortStrategy;
+
+    /**
+     * Soglia consigliata per la variante Filter-Kruskal.
+     */
+    public static final int DEFAULT_FILTER_THRESHOLD = 1024;
+
+    /*
+     * Numero di archi sotto il quale Filter-Kruskal passa a Kruskal classico;
+     * zero se la variante non è attiva
+     */
+    private final int filterThreshold;
+
+    /*
+     * Grafo e insiemi basati sugli indici del calcolo in corso
+     */
+    private Graph<L> graph;
+
+    private GraphNodeIntDisjointSets<L> indexedSets;
+
     /**
      * Costruisce un calcolatore di un albero di copertura minimo che usa
      * l'algoritmo di Kruskal su un grafo non orientato e pesato.
      */
     public KruskalMST()
     {
-        this.disjointSets = new ForestDisjointSets<GraphNode<L>>();
+        this(EdgeSorter.Strategy.AUTO);
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che usa
+     * l'algoritmo di Kruskal e ordina gli archi con la strategia data.
+     *
+     * @param sortStrategy
+     *                         la strategia di ordinamento degli archi
+     * @throws NullPointerException
+     *                                  se la strategia passata è null
+     */
+    public KruskalMST(EdgeSorter.Strategy sortStrategy)
+    {
+        this(sortStrategy, 0);
+    }
+
+    /**
+     * Costruisce un calcolatore di un albero di copertura minimo che ordina
+     * gli archi con la strategia data e, se la soglia è positiva, usa la
+     * variante Filter-Kruskal.
+     *
+     * @param sortStrategy
+     *                            la strategia di ordinamento degli archi
+     * @param filterThreshold
+     *                            numero di archi sotto il quale si usa Kruskal
+     *                            classico, oppure zero per usarlo sempre
+     * @throws NullPointerException
+     *                                      se la strategia passata è null
+     * @throws IllegalArgumentException
+     *                                      se la soglia è negativa
+     */
+    public KruskalMST(EdgeSorter.Strategy sortStrategy, int filterThreshold)
+    {
+        if (sortStrategy == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (filterThreshold < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! La soglia non può essere negativa");
+        }
+        this.sortStrategy = sortStrategy;
+        this.filterThreshold = filterThreshold;
     }
 
     /**
@@ -64,58 +140,161 @@ public class KruskalMST<L> {
         {
             throw new IllegalArgumentException("ERRORE! Il grafo non dev'essere orientato");
         }
-        disjointSets.clear();       //ripulisco il disjointSets
-        for (GraphNode<L> node : g.getNodes())
+        graph = g;
+        indexedSets = indexedSetsOf(g);
+        if (indexedSets != null)        //nodi con indici densi: insiemi singoletto con una sola allocazione
         {
-            disjointSets.makeSet(node);         //insieme singoletto con makeSet
+            disjointSets = indexedSets;
+            indexedSets.makeSetsOfAllNodes();
+        }
+        else
+        {
+            disjointSets = new ForestDisjointSets<GraphNode<L>>();
+            for (GraphNode<L> node : g.getNodes())
+            {
+                disjointSets.makeSet(node);         //insieme singoletto con makeSet
+            }
         }
-
-        graphEdgeList = new ArrayList<>(g.getEdges());
-        quickSort(0, graphEdgeList.size() - 1);     //uso quicksort per il sorting degli 'edges'
 
         Set<GraphEdge<L>> result = new HashSet<>();
+        int treeEdges = g.nodeCount() - 1;      //la foresta diventa un'unica componente con n - 1 archi: gli archi rimasti sono tutti scartati
+        try
+        {
+            if (filterThreshold > 0)
+            {
+                List<GraphEdge<L>> edges = new ArrayList<>(g.getEdges());
+                for (GraphEdge<L> edge : edges)         //unica passata di controllo dei pesi, prima di qualsiasi unione
+                {
+                    if (!edge.hasWeight() || edge.getWeight() < 0)
+                    {
+                        throw new IllegalArgumentException("ERRORE! Almeno un arco non è pesato o è negativo");
+                    }
+                }
+                filterKruskal(edges, result, treeEdges);
+            }
+            else
+            {
+                graphEdgeList = EdgeSorter.sortByWeight(g.getEdges(), sortStrategy);      //controlla anche che i pesi siano validi
+                kruskal(graphEdgeList, result, treeEdges);
+            }
+        }
+        finally
+        {
+            graph = null;
+            indexedSets = null;
+            disjointSets = null;
+        }
+        return result;
+    }
 
-        for (GraphEdge<L> edge : graphEdgeList)
+    /*
+     * Scorre gli archi già ordinati aggiungendo al risultato quelli che
+     * uniscono due componenti, finché l'albero non è completo.
+     */
+    private void kruskal(List<GraphEdge<L>> sortedEdges, Set<GraphEdge<L>> result, int treeEdges)
+    {
+        for (GraphEdge<L> edge : sortedEdges)
         {
-            if (!edge.hasWeight() || edge.getWeight() < 0) {
-                throw new IllegalArgumentException("ERRORE! Almeno un arco non è pesato o è negativo");
+            if (result.size() == treeEdges)
+            {
+                break;
             }
-            if (!disjointSets.findSet(edge.getNode2()).equals(disjointSets.findSet(edge.getNode1())))   //controllo se i findSet sono diversi unisco l'insieme e aggiungo l' 'edge' a 'result'
+            if (indexedSets != null)
+            {
+                if (indexedSets.unionByIndex(graph.getNodeIndexOf(edge.getNode1()), graph.getNodeIndexOf(edge.getNode2())))  //union restituisce true solo se gli insiemi erano diversi
+                {
+                    result.add(edge);
+                }
+            }
+            else if (!connected(edge))   //controllo se i findSet sono diversi unisco l'insieme e aggiungo l' 'edge' a 'result'
             {
                 result.add(edge);
                 disjointSets.union(edge.getNode1(), edge.getNode2());
             }
         }
-        return result;
     }
 
-    private void quickSort(int begin, int end)      //metodo del quicksort per riordinare gli archi
+    /*
+     * Filter-Kruskal: divide gli archi in più leggeri, uguali e più pesanti
+     * di un pivot scelto a caso, risolve i più leggeri, poi gli uguali e
+     * infine i più pesanti dopo aver scartato quelli che collegano nodi già
+     * connessi. Le due parti ricorsive escludono il pivot, quindi diventano
+     * sempre più piccole anche con molti pesi uguali.
+     */
+    private void filterKruskal(List<GraphEdge<L>> edges, Set<GraphEdge<L>> result, int treeEdges)
     {
-        if (end > begin)
+        if (result.size() == treeEdges || edges.isEmpty())
+        {
+            return;
+        }
+        if (edges.size() <= filterThreshold)
+        {
+            kruskal(EdgeSorter.sortByWeight(edges, sortStrategy), result, treeEdges);
+            return;
+        }
+        double pivot = edges.get(ThreadLocalRandom.current().nextInt(edges.size())).getWeight();
+        List<GraphEdge<L>> light = new ArrayList<>();
+        List<GraphEdge<L>> equal = new ArrayList<>();
+        List<GraphEdge<L>> heavy = new ArrayList<>();
+        for (GraphEdge<L> edge : edges)
+        {
+            if (edge.getWeight() < pivot)
+            {
+                light.add(edge);
+            }
+            else if (edge.getWeight() > pivot)
+            {
+                heavy.add(edge);
+            }
+            else
+            {
+                equal.add(edge);
+            }
+        }
+        filterKruskal(light, result, treeEdges);
+        kruskal(equal, result, treeEdges);          //pesi tutti uguali: non serve ordinarli
+        List<GraphEdge<L>> filtered = new ArrayList<>();
+        for (GraphEdge<L> edge : heavy)
         {
-            int pivot = Partizione(begin, end);
-            quickSort(begin, pivot - 1);
-            quickSort(pivot + 1, end);
+            if (result.size() == treeEdges)
+            {
+                return;
+            }
+            if (!connected(edge))           //gli archi tra nodi già connessi non entreranno mai nell'albero
+            {
+                filtered.add(edge);
+            }
         }
+        filterKruskal(filtered, result, treeEdges);
     }
 
-    private int Partizione(int begin, int end) {
-        GraphEdge<L> source = graphEdgeList.get(end);       //arco source con indice i
-        int i = begin - 1;
-
-        for (int j = begin; j < end; j++) {
-            if (graphEdgeList.get(j).getWeight() <= source.getWeight()) {       //controllo se l'elemento con index j ha un peso minore o uguale al 'source', incremento di l'indice i
-                i++;
-                swap(graphEdgeList, i, j);      //richiamo 'swap' per scambiare gli elementi
-            }
+    private boolean connected(GraphEdge<L> edge)
+    {
+        if (indexedSets != null)
+        {
+            return indexedSets.sameSetByIndex(graph.getNodeIndexOf(edge.getNode1()), graph.getNodeIndexOf(edge.getNode2()));
         }
-        swap(graphEdgeList, i + 1, end);
-        return i + 1;
+        return disjointSets.findSet(edge.getNode1()).equals(disjointSets.findSet(edge.getNode2()));
     }
 
-    private void swap(List<GraphEdge<L>> list, int i, int j) {
-        GraphEdge<L> temp = list.get(i);            //immagazzino l'elemento con indice i in una variabile temporale
-        list.set(i, list.get(j));                   //metto il valore l'elemento all'indice i nell' elemento con indice j
-        list.set(j, temp);                          //diamo il valore di j a 'temp'
+    /*
+     * Restituisce gli insiemi disgiunti basati sugli indici dei nodi se il
+     * grafo li supporta, null altrimenti.
+     */
+    private GraphNodeIntDisjointSets<L> indexedSetsOf(Graph<L> g)
+    {
+        if (g.isEmpty())
+        {
+            return null;
+        }
+        try
+        {
+            g.getNodeIndexOf(g.getNodes().iterator().next());
+        }
+        catch (UnsupportedOperationException e)
+        {
+            return null;
+        }
+        return new GraphNodeIntDisjointSets<L>(g);
     }
 }
@@ -1,5 +1,6 @@
 package it.unicam.cs.asdl2324.mp2;
 
+import static it.unicam.cs.asdl2324.mp2.MSTTestGraphs.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
@@ -206,4 +207,60 @@ class KruskalMSTTest {
             alg.computeMSP(x);
         });
     }
+
+    @Test
+    final void testComputeMSPStopsOnSpanningTree() {
+        Graph<Integer> gr = new AdjacencyMatrixUndirectedGraph<Integer>();
+        int n = 60;
+        for (int i = 0; i < n; i++)
+            gr.addNode(i);
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                gr.addWeightedEdge(i, j, j - i == 1 ? 1 : 100 + i + j);
+        // le validazioni avvengono prima del ciclo, anche su archi mai esaminati
+        gr.addWeightedEdge(0, 0, 500);
+        Set<GraphEdge<Integer>> tree = new KruskalMST<Integer>()
+                .computeMSP(gr);
+        assertEquals(n - 1, tree.size());
+        for (int i = 0; i < n - 1; i++)
+            assertTrue(tree.contains(gr.getEdge(i, i + 1)));
+        gr.getEdge(0, 0).setWeight(-1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new KruskalMST<Integer>().computeMSP(gr));
+    }
+
+    @Test
+    final void testComputeMSPDisconnected() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        for (String label : new String[] { "a", "b", "c", "d", "e" })
+            gr.addNode(label);
+        gr.addWeightedEdge("a", "b", 1);
+        gr.addWeightedEdge("b", "c", 2);
+        gr.addWeightedEdge("a", "c", 3);
+        gr.addWeightedEdge("d", "e", 4);
+        Set<GraphEdge<String>> forest = new KruskalMST<String>(
+                EdgeSorter.Strategy.RADIX).computeMSP(gr);
+        assertEquals(3, forest.size());
+        assertTrue(forest.contains(gr.getEdge("d", "e")));
+        assertFalse(forest.contains(gr.getEdge("a", "c")));
+    }
+
+    @Test
+    final void testFilterKruskal() {
+        for (int round = 0; round < 3; round++) {
+            Graph<Integer> gr = randomGraph(
+                    new AdjacencyMatrixUndirectedGraph<Integer>(), 80, 33,
+                    round < 2, 7 + round);
+            Set<GraphEdge<Integer>> expected = new KruskalMST<Integer>()
+                    .computeMSP(gr);
+            Set<GraphEdge<Integer>> filtered = new KruskalMST<Integer>(
+                    EdgeSorter.Strategy.INTROSORT, 8).computeMSP(gr);
+            assertEquals(expected.size(), filtered.size());
+            assertEquals(totalWeight(expected), totalWeight(filtered), 1e-9);
+            if (round < 2)
+                assertEquals(expected, filtered);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new KruskalMST<String>(EdgeSorter.Strategy.AUTO, -1));
+    }
 }
@@ -0,0 +1,47 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Grafi e controlli comuni ai test degli algoritmi per il Minimum Spanning
+ * Tree.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+final class MSTTestGraphs {
+
+    private MSTTestGraphs() {
+    }
+
+    /**
+     * Aggiunge al grafo i nodi da 0 a n - 1 e, per ogni coppia di nodi
+     * distinti, un arco con la probabilità data. I pesi sono reali casuali se
+     * distinct è true, altrimenti interi da 0 a 4, quindi con molte
+     * ripetizioni.
+     *
+     * @return il grafo passato, per comodità
+     */
+    static Graph<Integer> randomGraph(Graph<Integer> gr, int n, int percent,
+            boolean distinct, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++)
+            gr.addNode(i);
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                if (random.nextInt(100) < percent)
+                    gr.addWeightedEdge(i, j, distinct ? random.nextDouble()
+                            : random.nextInt(5));
+        return gr;
+    }
+
+    /**
+     * Restituisce la somma dei pesi degli archi dati.
+     */
+    static <L> double totalWeight(Set<GraphEdge<L>> edges) {
+        double total = 0;
+        for (GraphEdge<L> edge : edges)
+            total += edge.getWeight();
+        return total;
+    }
+}
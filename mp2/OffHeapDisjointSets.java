@@ -0,0 +1,244 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Collezione di insiemi disgiunti degli interi da 0 a n - 1 con n anche
+ * maggiore di 2^31, i cui parent e ranghi sono conservati fuori dallo heap in
+ * buffer diretti ({@code ByteBuffer.allocateDirect}). Un elemento occupa 9
+ * byte: 8 per il parent e 1 per il rango.
+ *
+ * Un singolo buffer è indicizzato con un int, quindi gli array sono divisi in
+ * blocchi di 2^27 elementi (1 GiB di parent per blocco) e l'elemento i si trova
+ * nel blocco i >>> 27 alla posizione i & (2^27 - 1).
+ *
+ * Le euristiche sono le stesse di {@code ForestDisjointSets}: unione per rango,
+ * con il rappresentante dell'insieme di e2 in caso di parità, e compressione
+ * del cammino iterativa in due passate.
+ *
+ * Dopo {@code close()} ogni operazione lancia IllegalStateException. La
+ * memoria dei buffer diretti viene restituita al sistema quando il garbage
+ * collector raccoglie i buffer, cosa che {@code close()} rende possibile
+ * eliminando tutti i riferimenti.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public class OffHeapDisjointSets implements AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_SHIFT = 27;
+
+    private final long size;
+
+    private final int chunkShift;
+
+    private final long chunkMask;
+
+    private LongBuffer[] parent;
+
+    private ByteBuffer[] rank;
+
+    private long components;
+
+    /**
+     * Costruisce n insiemi singoletto, uno per ogni elemento da 0 a n - 1.
+     *
+     * @param n
+     *              il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public OffHeapDisjointSets(long n)
+    {
+        this(n, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /*
+     * Costruttore con dimensione dei blocchi configurabile, usato dai test
+     * per avere più blocchi con pochi elementi.
+     */
+    OffHeapDisjointSets(long n, int chunkShift)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! Il numero di elementi non può essere negativo");
+        }
+        if (chunkShift < 1 || chunkShift > DEFAULT_CHUNK_SHIFT)
+        {
+            throw new IllegalArgumentException("ERRORE! Dimensione dei blocchi non valida");
+        }
+        this.size = n;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1L << chunkShift) - 1;
+        int chunks = (int) ((n + chunkMask) >>> chunkShift);
+        this.parent = new LongBuffer[chunks];
+        this.rank = new ByteBuffer[chunks];
+        for (int c = 0; c < chunks; c++)
+        {
+            int length = (int) Math.min(1L << chunkShift, n - ((long) c << chunkShift));
+            LongBuffer chunk = ByteBuffer.allocateDirect(length * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+            long base = (long) c << chunkShift;
+            for (int i = 0; i < length; i++)
+            {
+                chunk.put(i, base + i);         //ogni elemento è la radice di se stesso
+            }
+            parent[c] = chunk;
+            rank[c] = ByteBuffer.allocateDirect(length);        //i buffer diretti sono già azzerati
+        }
+        this.components = n;
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     *
+     * @return il numero di elementi
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     * @throws IllegalStateException
+     *                                   se la struttura è stata chiusa
+     */
+    public long componentCount()
+    {
+        checkOpen();
+        return components;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme di cui fa parte l'elemento,
+     * comprimendo il cammino.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return il rappresentante dell'insieme di e
+     * @throws IndexOutOfBoundsException
+     *                                       se e non è compreso tra 0 e
+     *                                       size() - 1
+     * @throws IllegalStateException
+     *                                       se la struttura è stata chiusa
+     */
+    public long findSet(long e)
+    {
+        checkOpen();
+        checkIndex(e);
+        long root = e;
+        long p = getParent(root);
+        while (p != root)               //prima passata: trovo la radice
+        {
+            root = p;
+            p = getParent(root);
+        }
+        while (e != root)               //seconda passata: collego il cammino alla radice
+        {
+            long next = getParent(e);
+            setParent(e, root);
+            e = next;
+        }
+        return root;
+    }
+
+    /**
+     * Unisce gli insiemi di cui fanno parte i due elementi passati.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @return true se gli insiemi erano distinti e sono stati uniti
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi
+     *                                       non è compreso tra 0 e size() - 1
+     * @throws IllegalStateException
+     *                                       se la struttura è stata chiusa
+     */
+    public boolean union(long e1, long e2)
+    {
+        long first = findSet(e1);
+        long second = findSet(e2);
+        if (first == second)
+        {
+            return false;
+        }
+        byte rank1 = getRank(first);
+        byte rank2 = getRank(second);
+        if (rank1 > rank2)              //assegno il parent in base al rank
+        {
+            setParent(second, first);
+        }
+        else
+        {
+            setParent(first, second);
+            if (rank1 == rank2)
+            {
+                setRank(second, (byte) (rank2 + 1));
+            }
+        }
+        components--;
+        return true;
+    }
+
+    /**
+     * Determina se la struttura è stata chiusa.
+     *
+     * @return true se è stato chiamato {@code close()}
+     */
+    public boolean isClosed()
+    {
+        return parent == null;
+    }
+
+    /**
+     * Rilascia i riferimenti ai buffer. Chiamate ripetute non hanno effetto.
+     */
+    @Override
+    public void close()
+    {
+        parent = null;
+        rank = null;
+    }
+
+    private long getParent(long i)
+    {
+        return parent[(int) (i >>> chunkShift)].get((int) (i & chunkMask));
+    }
+
+    private void setParent(long i, long p)
+    {
+        parent[(int) (i >>> chunkShift)].put((int) (i & chunkMask), p);
+    }
+
+    private byte getRank(long i)
+    {
+        return rank[(int) (i >>> chunkShift)].get((int) (i & chunkMask));
+    }
+
+    private void setRank(long i, byte r)
+    {
+        rank[(int) (i >>> chunkShift)].put((int) (i & chunkMask), r);
+    }
+
+    private void checkOpen()
+    {
+        if (parent == null)
+        {
+            throw new IllegalStateException("ERRORE! La struttura è stata chiusa");
+        }
+    }
+
+    private void checkIndex(long e)
+    {
+        if (e < 0 || e >= size)
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe OffHeapDisjointSets.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class OffHeapDisjointSetsTest {
+
+    @Test
+    final void testUnionAcrossChunks() {
+        // blocchi da 8 elementi, così 20 elementi occupano 3 blocchi
+        OffHeapDisjointSets ds = new OffHeapDisjointSets(20, 3);
+        assertEquals(20, ds.size());
+        assertEquals(20, ds.componentCount());
+        for (long i = 0; i < 20; i++)
+            assertEquals(i, ds.findSet(i));
+        assertTrue(ds.union(0, 1));
+        assertEquals(1, ds.findSet(0));
+        assertTrue(ds.union(9, 19));
+        assertEquals(19, ds.findSet(9));
+        assertTrue(ds.union(0, 9));
+        assertEquals(19, ds.findSet(1));
+        assertFalse(ds.union(1, 19));
+        assertEquals(17, ds.componentCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.findSet(20));
+        assertThrows(IndexOutOfBoundsException.class, () -> ds.union(-1, 0));
+    }
+
+    @Test
+    final void testClose() {
+        OffHeapDisjointSets ds = new OffHeapDisjointSets(4);
+        assertFalse(ds.isClosed());
+        ds.union(0, 3);
+        ds.close();
+        assertTrue(ds.isClosed());
+        ds.close();
+        assertThrows(IllegalStateException.class, () -> ds.findSet(0));
+        assertThrows(IllegalStateException.class, () -> ds.union(1, 2));
+        assertThrows(IllegalStateException.class, () -> ds.componentCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapDisjointSets(-1));
+    }
+
+    @Test
+    final void testLongChain() {
+        int n = 100000;
+        OffHeapDisjointSets ds = new OffHeapDisjointSets(n, 10);
+        for (long i = 0; i < n - 1; i++)
+            ds.union(i, i + 1);
+        assertEquals(1, ds.componentCount());
+        long root = ds.findSet(0);
+        for (long i = 0; i < n; i++)
+            assertEquals(root, ds.findSet(i));
+        ds.close();
+    }
+}
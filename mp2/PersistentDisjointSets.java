@@ -0,0 +1,252 @@
+package it.unicam.cs.asdl2324.mp2;
+
+/**
+ * Collezione persistente di insiemi disgiunti degli interi da 0 a n - 1. Ogni
+ * oggetto è immutabile e rappresenta una versione: {@code union} non modifica
+ * la versione su cui è chiamata ma ne restituisce una nuova, e tutte le
+ * versioni precedenti restano interrogabili.
+ *
+ * I parent e i ranghi sono conservati in due array persistenti realizzati
+ * come alberi binari completi sugli indici (un livello per bit). Modificare
+ * una posizione copia solo il cammino dalla radice alla foglia, cioè O(log n)
+ * nodi, e tutto il resto è condiviso con la versione precedente: la memoria
+ * cresce con il numero di unioni e non con il numero di versioni per n.
+ *
+ * Si usa l'unione per rango senza compressione del cammino, perché la
+ * compressione modificherebbe la versione su cui si sta cercando. Gli alberi
+ * hanno quindi altezza O(log n), e {@code findSet} e {@code union} costano
+ * O(log² n) perché ogni passo del cammino è una lettura da O(log n).
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ */
+public final class PersistentDisjointSets {
+
+    /*
+     * Nodo di un array persistente. Le foglie hanno figli null e conservano
+     * un valore; i nodi interni non usano il valore.
+     */
+    private static final class Trie {
+
+        private final Trie left;
+
+        private final Trie right;
+
+        private final int value;
+
+        private Trie(Trie left, Trie right, int value)
+        {
+            this.left = left;
+            this.right = right;
+            this.value = value;
+        }
+    }
+
+    private final int size;
+
+    /*
+     * Numero di livelli interni degli alberi: 2^depth >= size
+     */
+    private final int depth;
+
+    private final Trie parent;
+
+    private final Trie rank;
+
+    private final int components;
+
+    /**
+     * Costruisce la versione iniziale, con n insiemi singoletto, uno per ogni
+     * elemento da 0 a n - 1.
+     *
+     * @param n
+     *              il numero di elementi
+     * @throws IllegalArgumentException
+     *                                      se n è negativo
+     */
+    public PersistentDisjointSets(int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("ERRORE! Il numero di elementi non può essere negativo");
+        }
+        int d = 0;
+        while ((1L << d) < n)
+        {
+            d++;
+        }
+        this.size = n;
+        this.depth = d;
+        this.parent = identity(d, 0, n);
+        this.rank = zeros(d);
+        this.components = n;
+    }
+
+    private PersistentDisjointSets(PersistentDisjointSets base, Trie parent, Trie rank)
+    {
+        this.size = base.size;
+        this.depth = base.depth;
+        this.parent = parent;
+        this.rank = rank;
+        this.components = base.components - 1;
+    }
+
+    /**
+     * Restituisce il numero di elementi.
+     *
+     * @return il numero di elementi
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti di questa versione.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount()
+    {
+        return components;
+    }
+
+    /**
+     * Restituisce il rappresentante dell'insieme di cui fa parte l'elemento
+     * in questa versione.
+     *
+     * @param e
+     *              l'elemento di cui cercare l'insieme
+     * @return il rappresentante dell'insieme di e
+     * @throws IndexOutOfBoundsException
+     *                                       se e non è compreso tra 0 e
+     *                                       size() - 1
+     */
+    public int findSet(int e)
+    {
+        checkIndex(e);
+        int p = get(parent, e);
+        while (p != e)
+        {
+            e = p;
+            p = get(parent, e);
+        }
+        return e;
+    }
+
+    /**
+     * Determina se i due elementi fanno parte dello stesso insieme in questa
+     * versione.
+     *
+     * @param e1
+     *               il primo elemento
+     * @param e2
+     *               il secondo elemento
+     * @return true se i due elementi sono nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi
+     *                                       non è compreso tra 0 e size() - 1
+     */
+    public boolean sameSet(int e1, int e2)
+    {
+        return findSet(e1) == findSet(e2);
+    }
+
+    /**
+     * Restituisce la versione in cui gli insiemi dei due elementi sono uniti.
+     * Questa versione non viene modificata. In caso di parità di rango il
+     * rappresentante dell'unione è quello dell'insieme di e2, come in
+     * {@code ForestDisjointSets}.
+     *
+     * @param e1
+     *               un elemento del primo insieme
+     * @param e2
+     *               un elemento del secondo insieme
+     * @return la nuova versione, oppure questa stessa versione se i due
+     *         elementi sono già nello stesso insieme
+     * @throws IndexOutOfBoundsException
+     *                                       se almeno uno dei due elementi
+     *                                       non è compreso tra 0 e size() - 1
+     */
+    public PersistentDisjointSets union(int e1, int e2)
+    {
+        int first = findSet(e1);
+        int second = findSet(e2);
+        if (first == second)
+        {
+            return this;
+        }
+        int rank1 = get(rank, first);
+        int rank2 = get(rank, second);
+        if (rank1 > rank2)
+        {
+            return new PersistentDisjointSets(this, set(parent, depth, second, first), rank);
+        }
+        Trie newRank = rank1 == rank2 ? set(rank, depth, second, rank2 + 1) : rank;
+        return new PersistentDisjointSets(this, set(parent, depth, first, second), newRank);
+    }
+
+    private int get(Trie node, int i)
+    {
+        for (int level = depth - 1; level >= 0; level--)
+        {
+            node = ((i >>> level) & 1) == 0 ? node.left : node.right;
+        }
+        return node.value;
+    }
+
+    /*
+     * Restituisce un nuovo albero uguale a quello dato tranne che nella
+     * posizione i, copiando solo i nodi del cammino verso la foglia.
+     */
+    private static Trie set(Trie node, int level, int i, int value)
+    {
+        if (level == 0)
+        {
+            return new Trie(null, null, value);
+        }
+        if (((i >>> (level - 1)) & 1) == 0)
+        {
+            return new Trie(set(node.left, level - 1, i, value), node.right, 0);
+        }
+        return new Trie(node.left, set(node.right, level - 1, i, value), 0);
+    }
+
+    /*
+     * Albero in cui ogni posizione tra offset e n - 1 contiene il proprio
+     * indice; i sottoalberi oltre n non vengono creati.
+     */
+    private static Trie identity(int level, int offset, int n)
+    {
+        if (offset >= n)
+        {
+            return null;
+        }
+        if (level == 0)
+        {
+            return new Trie(null, null, offset);
+        }
+        return new Trie(identity(level - 1, offset, n), identity(level - 1, offset + (1 << (level - 1)), n), 0);
+    }
+
+    /*
+     * Albero di zeri in cui i due figli di ogni livello sono lo stesso nodo
+     */
+    private static Trie zeros(int level)
+    {
+        Trie node = new Trie(null, null, 0);
+        for (int l = 0; l < level; l++)
+        {
+            node = new Trie(node, node, 0);
+        }
+        return node;
+    }
+
+    private void checkIndex(int e)
+    {
+        if (e < 0 || e >= size)
+        {
+            throw new IndexOutOfBoundsException("ERRORE! L'indice è fuori dai limiti");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe PersistentDisjointSets.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class PersistentDisjointSetsTest {
+
+    @Test
+    final void testVersionsStayQueryable() {
+        PersistentDisjointSets v0 = new PersistentDisjointSets(5);
+        PersistentDisjointSets v1 = v0.union(0, 1);
+        PersistentDisjointSets v2 = v1.union(2, 3);
+        PersistentDisjointSets v3 = v2.union(1, 3);
+        PersistentDisjointSets v2b = v2.union(4, 0);
+        assertEquals(5, v0.componentCount());
+        assertEquals(4, v1.componentCount());
+        assertEquals(2, v3.componentCount());
+        assertEquals(2, v2b.componentCount());
+        assertFalse(v0.sameSet(0, 1));
+        assertTrue(v1.sameSet(0, 1));
+        assertFalse(v2.sameSet(0, 3));
+        assertTrue(v3.sameSet(0, 2));
+        assertFalse(v3.sameSet(0, 4));
+        assertTrue(v2b.sameSet(4, 1));
+        assertFalse(v2b.sameSet(4, 2));
+        assertEquals(1, v1.findSet(0));
+        assertEquals(3, v3.findSet(0));
+        assertTrue(v3.union(0, 2) == v3);
+        assertThrows(IndexOutOfBoundsException.class, () -> v0.findSet(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> v0.union(-1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PersistentDisjointSets(-1));
+    }
+
+    @Test
+    final void testManyVersions() {
+        int n = 1000;
+        PersistentDisjointSets[] versions = new PersistentDisjointSets[n];
+        versions[0] = new PersistentDisjointSets(n);
+        for (int i = 1; i < n; i++)
+            versions[i] = versions[i - 1].union(i - 1, i);
+        for (int i = 0; i < n; i += 97) {
+            assertEquals(n - i, versions[i].componentCount());
+            assertTrue(versions[i].sameSet(0, i));
+            if (i + 1 < n)
+                assertFalse(versions[i].sameSet(0, i + 1));
+        }
+    }
+}
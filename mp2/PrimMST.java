@@ -0,0 +1,387 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Classe che implementa l'algoritmo di Prim per trovare un Minimum Spanning
+ * Tree di un grafo non orientato, pesato e con pesi non negativi. È pensata
+ * per i grafi densi, ad esempio quelli rappresentati con
+ * {@code AdjacencyMatrixUndirectedGraph}, dove l'ordinamento di tutti gli
+ * archi fatto da {@code KruskalMST} costa più di una visita dei nodi.
+ *
+ * Le distanze e gli archi di collegamento dei nodi sono tenuti in array
+ * indicizzati con {@code getNodeIndexOf}, invece che nei campi
+ * {@code floatingPointDistance} e {@code previous} dei nodi, così il calcolo
+ * non modifica il grafo. Se il grafo non supporta gli indici dei nodi questi
+ * vengono assegnati con una mappa.
+ *
+ * Le varianti disponibili sono:
+ * <ul>
+ * <li>{@code ARRAY}: a ogni passo il nodo più vicino all'albero si cerca
+ * scorrendo l'array delle distanze. Costa O(n^2 + m), che è il minimo per un
+ * grafo denso.</li>
+ * <li>{@code HEAP}: i nodi sono tenuti in uno heap d-ario indicizzato con
+ * d = max(2, m / n). Costa O(m log_d n + n d log_d n) e conviene sui grafi
+ * sparsi.</li>
+ * <li>{@code AUTO}: {@code ARRAY} se m log2(n) &ge; n^2, {@code HEAP}
+ * altrimenti.</li>
+ * </ul>
+ * Se il grafo non è connesso viene restituita una foresta di copertura
+ * minima, come fa {@code KruskalMST}.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <L>
+ *                tipo delle etichette dei nodi del grafo
+ */
+public class PrimMST<L> {
+
+    /**
+     * Le varianti dell'algoritmo disponibili.
+     */
+    public enum Strategy {
+        AUTO, ARRAY, HEAP
+    }
+
+    /*
+     * Variante scelta nel costruttore
+     */
+    private final Strategy strategy;
+
+    /*
+     * Stato del calcolo in corso: nodi per indice, mappa degli indici se il
+     * grafo non li supporta, distanze dall'albero e archi di collegamento
+     */
+    private Graph<L> graph;
+
+    private GraphNode<L>[] nodes;
+
+    private Map<GraphNode<L>, Integer> index;
+
+    private double[] key;
+
+    private GraphEdge<L>[] parentEdge;
+
+    private boolean[] visited;
+
+    /**
+     * Costruisce un calcolatore che sceglie la variante in base alla densità
+     * del grafo.
+     */
+    public PrimMST()
+    {
+        this(Strategy.AUTO);
+    }
+
+    /**
+     * Costruisce un calcolatore che usa la variante data.
+     *
+     * @param strategy
+     *                     la variante da usare
+     * @throws NullPointerException
+     *                                  se la variante passata è null
+     */
+    public PrimMST(Strategy strategy)
+    {
+        if (strategy == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        this.strategy = strategy;
+    }
+
+    /**
+     * Utilizza l'algoritmo di Prim per trovare un albero (o una foresta) di
+     * copertura minimo in un grafo non orientato e pesato, con pesi degli
+     * archi non negativi.
+     *
+     * @param g
+     *              un grafo non orientato, pesato, con pesi non negativi
+     * @return l'insieme degli archi del grafo g che costituiscono l'albero di
+     *         copertura minimo trovato
+     * @throws NullPointerException
+     *                                      se il grafo g è null
+     * @throws IllegalArgumentException
+     *                                      se il grafo g è orientato, non
+     *                                      pesato o con pesi negativi
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Set<GraphEdge<L>> computeMSP(Graph<L> g)
+    {
+        if (g == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (g.isDirected())
+        {
+            throw new IllegalArgumentException("ERRORE! Il grafo non dev'essere orientato");
+        }
+        int n = g.nodeCount();
+        Set<GraphEdge<L>> result = new HashSet<>();
+        if (n == 0)
+        {
+            return result;
+        }
+        graph = g;
+        nodes = new GraphNode[n];
+        key = new double[n];
+        parentEdge = new GraphEdge[n];
+        visited = new boolean[n];
+        try
+        {
+            indexNodes();
+            for (int i = 0; i < n; i++)
+            {
+                key[i] = Double.POSITIVE_INFINITY;
+            }
+            if (chooseStrategy(n, g.edgeCount()) == Strategy.ARRAY)
+            {
+                arrayPrim(result);
+            }
+            else
+            {
+                heapPrim(result);
+            }
+        }
+        finally
+        {
+            graph = null;
+            nodes = null;
+            index = null;
+            key = null;
+            parentEdge = null;
+            visited = null;
+        }
+        return result;
+    }
+
+    /*
+     * Variante scelta per un grafo con n nodi e m archi.
+     */
+    Strategy chooseStrategy(int n, int m)
+    {
+        if (strategy != Strategy.AUTO)
+        {
+            return strategy;
+        }
+        int log = 32 - Integer.numberOfLeadingZeros(n);
+        return (long) m * log >= (long) n * n ? Strategy.ARRAY : Strategy.HEAP;
+    }
+
+    /*
+     * Riempie l'array dei nodi con gli indici del grafo se li supporta,
+     * altrimenti con quelli di una mappa costruita qui.
+     */
+    private void indexNodes()
+    {
+        try
+        {
+            for (int i = 0; i < nodes.length; i++)
+            {
+                nodes[i] = graph.getNode(i);
+            }
+            graph.getNodeIndexOf(nodes[0]);
+        }
+        catch (UnsupportedOperationException e)
+        {
+            index = new HashMap<>();
+            for (GraphNode<L> node : graph.getNodes())
+            {
+                nodes[index.size()] = node;
+                index.put(node, index.size());
+            }
+        }
+    }
+
+    private int indexOf(GraphNode<L> node)
+    {
+        return index == null ? graph.getNodeIndexOf(node) : index.get(node);
+    }
+
+    /*
+     * Segna il nodo v come raggiunto, aggiunge al risultato l'arco con cui è
+     * stato raggiunto e abbassa le distanze dei vicini non ancora raggiunti,
+     * aggiornandoli nello heap se c'è.
+     */
+    private void visit(int v, Set<GraphEdge<L>> result, Heap heap)
+    {
+        visited[v] = true;
+        if (parentEdge[v] != null)
+        {
+            result.add(parentEdge[v]);
+        }
+        GraphNode<L> node = nodes[v];
+        for (GraphEdge<L> edge : graph.getEdgesOf(node))        //ogni arco viene controllato da entrambi gli estremi
+        {
+            if (!edge.hasWeight() || edge.getWeight() < 0)
+            {
+                throw new IllegalArgumentException("ERRORE! Almeno un arco non è pesato o è negativo");
+            }
+            GraphNode<L> other = edge.getNode1().equals(node) ? edge.getNode2() : edge.getNode1();
+            int u = indexOf(other);
+            if (!visited[u] && edge.getWeight() < key[u])
+            {
+                key[u] = edge.getWeight();
+                parentEdge[u] = edge;
+                if (heap != null)
+                {
+                    heap.pushOrDecrease(u);
+                }
+            }
+        }
+    }
+
+    /*
+     * Prim con ricerca lineare del minimo: O(n^2 + m). Un nodo con distanza
+     * infinita è la radice di una nuova componente.
+     */
+    private void arrayPrim(Set<GraphEdge<L>> result)
+    {
+        int n = nodes.length;
+        for (int step = 0; step < n; step++)
+        {
+            int best = -1;
+            for (int i = 0; i < n; i++)
+            {
+                if (!visited[i] && (best < 0 || key[i] < key[best]))
+                {
+                    best = i;
+                }
+            }
+            visit(best, result, null);
+        }
+    }
+
+    /*
+     * Prim con heap d-ario indicizzato, ripartendo da ogni nodo non ancora
+     * raggiunto per coprire tutte le componenti.
+     */
+    private void heapPrim(Set<GraphEdge<L>> result)
+    {
+        int n = nodes.length;
+        Heap heap = new Heap(n, Math.max(2, graph.edgeCount() / n));
+        for (int s = 0; s < n; s++)
+        {
+            if (visited[s])
+            {
+                continue;
+            }
+            key[s] = 0;
+            heap.pushOrDecrease(s);
+            while (!heap.isEmpty())
+            {
+                visit(heap.pop(), result, heap);
+            }
+        }
+    }
+
+    /*
+     * Heap d-ario di indici di nodi ordinato per key. La posizione di ogni
+     * nodo nello heap è tenuta in pos (-1 se assente), così la diminuzione di
+     * una chiave costa O(log_d n).
+     */
+    private class Heap {
+
+        private final int[] heap;
+
+        private final int[] pos;
+
+        private final int d;
+
+        private int size;
+
+        private Heap(int n, int d)
+        {
+            this.heap = new int[n];
+            this.pos = new int[n];
+            this.d = d;
+            for (int i = 0; i < n; i++)
+            {
+                pos[i] = -1;
+            }
+        }
+
+        private boolean isEmpty()
+        {
+            return size == 0;
+        }
+
+        private void pushOrDecrease(int v)
+        {
+            int i = pos[v];
+            if (i < 0)
+            {
+                i = size++;
+                heap[i] = v;
+                pos[v] = i;
+            }
+            siftUp(i);
+        }
+
+        private int pop()
+        {
+            int top = heap[0];
+            pos[top] = -1;
+            size--;
+            if (size > 0)
+            {
+                heap[0] = heap[size];
+                pos[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int i)
+        {
+            int v = heap[i];
+            while (i > 0)
+            {
+                int parent = (i - 1) / d;
+                if (key[heap[parent]] <= key[v])
+                {
+                    break;
+                }
+                heap[i] = heap[parent];
+                pos[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            pos[v] = i;
+        }
+
+        private void siftDown(int i)
+        {
+            int v = heap[i];
+            while (true)
+            {
+                int first = d * i + 1;
+                if (first >= size)
+                {
+                    break;
+                }
+                int best = first;
+                int last = Math.min(first + d, size);
+                for (int c = first + 1; c < last; c++)      //il figlio con la chiave minore
+                {
+                    if (key[heap[c]] < key[heap[best]])
+                    {
+                        best = c;
+                    }
+                }
+                if (key[heap[best]] >= key[v])
+                {
+                    break;
+                }
+                heap[i] = heap[best];
+                pos[heap[i]] = i;
+                i = best;
+            }
+            heap[i] = v;
+            pos[v] = i;
+        }
+    }
+}
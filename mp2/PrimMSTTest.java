@@ -0,0 +1,106 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static it.unicam.cs.asdl2324.mp2.MSTTestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe PrimMST.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class PrimMSTTest {
+
+    @Test
+    final void testSameTreeAsKruskalWithDistinctWeights() {
+        int[] densities = { 2, 10, 50, 100 };
+        for (int percent : densities) {
+            Graph<Integer> matrix = randomGraph(
+                    new AdjacencyMatrixUndirectedGraph<Integer>(), 80, percent,
+                    true, percent);
+            Graph<Integer> list = randomGraph(
+                    new AdjacencyListUndirectedGraph<Integer>(), 80, percent,
+                    true, percent);
+            for (PrimMST.Strategy strategy : PrimMST.Strategy.values()) {
+                assertEquals(new KruskalMST<Integer>().computeMSP(matrix),
+                        new PrimMST<Integer>(strategy).computeMSP(matrix));
+                assertEquals(new KruskalMST<Integer>().computeMSP(list),
+                        new PrimMST<Integer>(strategy).computeMSP(list));
+            }
+        }
+    }
+
+    @Test
+    final void testEqualWeightsAndForest() {
+        Graph<Integer> gr = randomGraph(
+                new AdjacencyMatrixUndirectedGraph<Integer>(), 60, 30, false, 7);
+        gr.addWeightedEdge(4, 4, 0);
+        for (int i = 60; i < 65; i++)
+            gr.addNode(i);
+        gr.addWeightedEdge(60, 61, 3);
+        Set<GraphEdge<Integer>> kruskal = new KruskalMST<Integer>()
+                .computeMSP(gr);
+        for (PrimMST.Strategy strategy : PrimMST.Strategy.values()) {
+            Set<GraphEdge<Integer>> prim = new PrimMST<Integer>(strategy)
+                    .computeMSP(gr);
+            assertEquals(kruskal.size(), prim.size());
+            assertEquals(totalWeight(kruskal), totalWeight(prim), 1e-9);
+        }
+    }
+
+    @Test
+    final void testComputeMSP() {
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addNode("c");
+        gr.addNode("d");
+        gr.addWeightedEdge("a", "b", 4);
+        gr.addWeightedEdge("a", "c", 1);
+        gr.addWeightedEdge("b", "c", 2);
+        gr.addWeightedEdge("c", "d", 5);
+        gr.addWeightedEdge("b", "d", 3);
+        Set<GraphEdge<String>> expected = new HashSet<GraphEdge<String>>();
+        expected.add(gr.getEdge("a", "c"));
+        expected.add(gr.getEdge("b", "c"));
+        expected.add(gr.getEdge("b", "d"));
+        assertEquals(expected, new PrimMST<String>().computeMSP(gr));
+        // i campi dei nodi non vengono usati dal calcolo
+        for (GraphNode<String> node : gr.getNodes())
+            assertNull(node.getPrevious());
+    }
+
+    @Test
+    final void testChooseStrategy() {
+        PrimMST<String> alg = new PrimMST<String>();
+        assertEquals(PrimMST.Strategy.ARRAY, alg.chooseStrategy(100, 4950));
+        assertEquals(PrimMST.Strategy.HEAP, alg.chooseStrategy(100, 300));
+        assertEquals(PrimMST.Strategy.HEAP,
+                new PrimMST<String>(PrimMST.Strategy.HEAP).chooseStrategy(100,
+                        4950));
+    }
+
+    @Test
+    final void testExceptions() {
+        PrimMST<String> alg = new PrimMST<String>();
+        assertThrows(NullPointerException.class, () -> alg.computeMSP(null));
+        assertThrows(NullPointerException.class,
+                () -> new PrimMST<String>(null));
+        Graph<String> directed = new AdjacencyListDirectedGraph<String>();
+        assertThrows(IllegalArgumentException.class,
+                () -> alg.computeMSP(directed));
+        Graph<String> gr = new AdjacencyMatrixUndirectedGraph<String>();
+        gr.addNode("a");
+        gr.addNode("b");
+        gr.addNode("c");
+        gr.addWeightedEdge("a", "b", 1);
+        gr.addWeightedEdge("b", "c", -1);
+        assertThrows(IllegalArgumentException.class, () -> alg.computeMSP(gr));
+        assertTrue(alg.computeMSP(new AdjacencyMatrixUndirectedGraph<String>())
+                .isEmpty());
+    }
+}
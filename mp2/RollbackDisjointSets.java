@@ -0,0 +1,278 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Variante di {@code ForestDisjointSets} le cui operazioni possono essere
+ * annullate in ordine inverso. Usa l'unione per rango ma non la compressione
+ * del cammino, quindi ogni operazione modifica un numero costante di campi e
+ * gli alberi hanno altezza O(log n): {@code findSet} costa O(log n) e
+ * annullare un'operazione costa O(1).
+ *
+ * Ogni {@code makeSet} e ogni {@code union} che unisce due insiemi distinti
+ * viene registrata su una pila. {@code checkpoint()} restituisce l'altezza
+ * corrente della pila e {@code rollback(checkpoint)} annulla tutte le
+ * operazioni successive, riportando la struttura esattamente allo stato che
+ * aveva in quel momento.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ *
+ * @param <E>
+ *                il tipo degli elementi degli insiemi disgiunti
+ */
+public class RollbackDisjointSets<E> implements DisjointSets<E> {
+
+    /*
+     * Mappa che associa ad ogni elemento inserito il corrispondente nodo. La
+     * variabile è protected unicamente per permettere i test JUnit.
+     */
+    protected Map<E, ForestDisjointSets.Node<E>> currentElements;
+
+    /*
+     * Insieme dei rappresentanti correnti
+     */
+    private Set<E> roots;
+
+    /*
+     * Pila delle operazioni eseguite, dalla più vecchia alla più recente
+     */
+    private ArrayList<Change<E>> changes;
+
+    /*
+     * Operazione registrata sulla pila. Per un makeSet 'root' è null e
+     * 'child' è il nodo creato; per una union 'child' è la radice che è stata
+     * collegata sotto 'root'.
+     */
+    private static class Change<E> {
+
+        private final ForestDisjointSets.Node<E> child;
+
+        private final ForestDisjointSets.Node<E> root;
+
+        private final boolean rankIncreased;
+
+        private Change(ForestDisjointSets.Node<E> child, ForestDisjointSets.Node<E> root, boolean rankIncreased)
+        {
+            this.child = child;
+            this.root = root;
+            this.rankIncreased = rankIncreased;
+        }
+    }
+
+    /**
+     * Costruisce una collezione vuota di insiemi disgiunti.
+     */
+    public RollbackDisjointSets()
+    {
+        this.currentElements = new HashMap<>();
+        this.roots = new HashSet<>();
+        this.changes = new ArrayList<>();
+    }
+
+    @Override
+    public boolean isPresent(E e)
+    {
+        return currentElements.containsKey(e);
+    }
+
+    @Override
+    public void makeSet(E e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        if (currentElements.containsKey(e))
+        {
+            throw new IllegalArgumentException("ERRORE! L'oggetto è già contenuto");
+        }
+        ForestDisjointSets.Node<E> node = new ForestDisjointSets.Node<>(e);
+        currentElements.put(e, node);
+        roots.add(e);
+        changes.add(new Change<>(node, null, false));
+    }
+
+    /*
+     * Risale fino alla radice senza modificare i parent, così che la union
+     * che ha costruito il cammino possa essere annullata.
+     */
+    @Override
+    public E findSet(E e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        ForestDisjointSets.Node<E> node = currentElements.get(e);
+        if (node == null)
+        {
+            return null;
+        }
+        return findRoot(node).item;
+    }
+
+    /*
+     * Unione per rango con le stesse regole di ForestDisjointSets: in caso di
+     * parità il rappresentante è quello dell'insieme di e2.
+     */
+    @Override
+    public void union(E e1, E e2)
+    {
+        if (e1 == null || e2 == null)
+        {
+            throw new NullPointerException("ERRORE! Almeno uno dei due elementi è null");
+        }
+        ForestDisjointSets.Node<E> node1 = currentElements.get(e1);
+        ForestDisjointSets.Node<E> node2 = currentElements.get(e2);
+        if (node1 == null || node2 == null)
+        {
+            throw new IllegalArgumentException("ERRORE! Almeno uno dei due elementi non è presente");
+        }
+        ForestDisjointSets.Node<E> first = findRoot(node1);
+        ForestDisjointSets.Node<E> second = findRoot(node2);
+        if (first == second)
+        {
+            return;         //nessuna modifica, quindi niente da registrare
+        }
+        if (first.rank > second.rank)
+        {
+            ForestDisjointSets.Node<E> tmp = first;
+            first = second;
+            second = tmp;
+        }
+        boolean rankIncreased = first.rank == second.rank;
+        first.parent = second;          //'first' è sempre la radice che viene collegata
+        if (rankIncreased)
+        {
+            second.rank++;
+        }
+        swapNext(first, second);
+        roots.remove(first.item);
+        changes.add(new Change<>(first, second, rankIncreased));
+    }
+
+    /**
+     * Restituisce un punto di ripristino corrispondente allo stato corrente.
+     *
+     * @return il numero di operazioni registrate finora
+     */
+    public int checkpoint()
+    {
+        return changes.size();
+    }
+
+    /**
+     * Annulla, dalla più recente, tutte le operazioni eseguite dopo il punto
+     * di ripristino dato.
+     *
+     * @param checkpoint
+     *                       un valore restituito in precedenza da
+     *                       {@code checkpoint()}
+     * @throws IllegalArgumentException
+     *                                      se il punto di ripristino è
+     *                                      negativo o successivo allo stato
+     *                                      corrente
+     */
+    public void rollback(int checkpoint)
+    {
+        if (checkpoint < 0 || checkpoint > changes.size())
+        {
+            throw new IllegalArgumentException("ERRORE! Punto di ripristino non valido");
+        }
+        while (changes.size() > checkpoint)
+        {
+            Change<E> change = changes.remove(changes.size() - 1);
+            if (change.root == null)        //annullo un makeSet
+            {
+                currentElements.remove(change.child.item);
+                roots.remove(change.child.item);
+            }
+            else                            //annullo una union
+            {
+                swapNext(change.child, change.root);        //lo scambio dei next è l'inverso di se stesso
+                change.child.parent = change.child;
+                if (change.rankIncreased)
+                {
+                    change.root.rank--;
+                }
+                roots.add(change.child.item);
+            }
+        }
+    }
+
+    /*
+     * Restituisce una vista non modificabile e sempre aggiornata dei
+     * rappresentanti.
+     */
+    @Override
+    public Set<E> getCurrentRepresentatives()
+    {
+        return Collections.unmodifiableSet(roots);
+    }
+
+    /**
+     * Restituisce il numero di insiemi disgiunti attualmente presenti.
+     *
+     * @return il numero di insiemi disgiunti
+     */
+    public int componentCount()
+    {
+        return roots.size();
+    }
+
+    @Override
+    public Set<E> getCurrentElementsOfSetContaining(E e)
+    {
+        if (e == null)
+        {
+            throw new NullPointerException("ERRORE! Non sono ammessi valori null");
+        }
+        ForestDisjointSets.Node<E> start = currentElements.get(e);
+        if (start == null)
+        {
+            throw new IllegalArgumentException("ERRORE! L'elemento non è contenuto");
+        }
+        Set<E> elements = new HashSet<>();
+        ForestDisjointSets.Node<E> current = start;
+        do
+        {
+            elements.add(current.item);
+            current = current.next;
+        }
+        while (current != start);
+        return elements;
+    }
+
+    /*
+     * Cancella anche la pila delle operazioni: i punti di ripristino ottenuti
+     * prima non sono più validi.
+     */
+    @Override
+    public void clear()
+    {
+        currentElements.clear();
+        roots.clear();
+        changes.clear();
+    }
+
+    private ForestDisjointSets.Node<E> findRoot(ForestDisjointSets.Node<E> node)
+    {
+        while (node.parent != node)
+        {
+            node = node.parent;
+        }
+        return node;
+    }
+
+    private void swapNext(ForestDisjointSets.Node<E> n1, ForestDisjointSets.Node<E> n2)
+    {
+        ForestDisjointSets.Node<E> next1 = n1.next;
+        n1.next = n2.next;
+        n2.next = next1;
+    }
+}
@@ -0,0 +1,73 @@
+package it.unicam.cs.asdl2324.mp2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Classe di test per la classe RollbackDisjointSets.
+ *
+ * @author DAVUD, SUFA davud.sufa@studenti.unicam.it
+ */
+class RollbackDisjointSetsTest {
+
+    @Test
+    final void testUnionByRankWithoutCompression() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        for (int i = 1; i <= 4; i++)
+            ds.makeSet(i);
+        ds.union(1, 2);
+        ds.union(3, 4);
+        ds.union(1, 3);
+        ForestDisjointSets.Node<Integer> n1 = ds.currentElements.get(1);
+        ForestDisjointSets.Node<Integer> n2 = ds.currentElements.get(2);
+        ForestDisjointSets.Node<Integer> n4 = ds.currentElements.get(4);
+        assertTrue(n2.parent == n4);
+        assertEquals(2, n4.rank);
+        assertEquals(4, ds.findSet(1));
+        assertTrue(n1.parent == n2);
+        assertEquals(1, ds.componentCount());
+        assertThrows(NullPointerException.class, () -> ds.union(1, null));
+        assertThrows(IllegalArgumentException.class, () -> ds.union(1, 5));
+        assertThrows(IllegalArgumentException.class, () -> ds.makeSet(1));
+    }
+
+    @Test
+    final void testRollback() {
+        RollbackDisjointSets<Integer> ds = new RollbackDisjointSets<Integer>();
+        for (int i = 1; i <= 4; i++)
+            ds.makeSet(i);
+        ds.union(1, 2);
+        int checkpoint = ds.checkpoint();
+        ds.union(3, 4);
+        ds.union(2, 4);
+        ds.union(1, 3);
+        ds.makeSet(5);
+        ds.union(5, 1);
+        assertEquals(1, ds.componentCount());
+        assertEquals(5, ds.getCurrentElementsOfSetContaining(3).size());
+        ds.rollback(checkpoint);
+        assertFalse(ds.isPresent(5));
+        assertEquals(3, ds.componentCount());
+        assertEquals(2, ds.findSet(1));
+        assertEquals(3, ds.findSet(3));
+        assertEquals(0, ds.currentElements.get(3).rank);
+        assertEquals(1, ds.currentElements.get(2).rank);
+        Set<Integer> expected = new HashSet<Integer>();
+        expected.add(1);
+        expected.add(2);
+        assertTrue(ds.getCurrentElementsOfSetContaining(1).equals(expected));
+        expected.clear();
+        expected.add(2);
+        expected.add(3);
+        expected.add(4);
+        assertTrue(ds.getCurrentRepresentatives().equals(expected));
+        ds.rollback(0);
+        assertTrue(ds.getCurrentRepresentatives().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> ds.rollback(1));
+        assertThrows(IllegalArgumentException.class, () -> ds.rollback(-1));
+    }
+}